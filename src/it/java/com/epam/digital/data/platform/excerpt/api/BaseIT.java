@@ -16,8 +16,10 @@
 
 package com.epam.digital.data.platform.excerpt.api;
 
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptIdempotencyKeyRepository;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
 import com.epam.digital.data.platform.excerpt.api.repository.TemplateRepository;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptTemplateCache;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -50,11 +52,17 @@ public abstract class BaseIT {
   protected TemplateRepository templateRepository;
   @Autowired
   protected ObjectMapper objectMapper;
+  @Autowired
+  protected ExcerptTemplateCache excerptTemplateCache;
+  @Autowired
+  protected ExcerptIdempotencyKeyRepository idempotencyKeyRepository;
 
   @AfterEach
   void cleanUp() {
+    idempotencyKeyRepository.deleteAll();
     recordRepository.deleteAll();
     templateRepository.deleteAll();
+    excerptTemplateCache.evictAll();
   }
 
   protected ExcerptTemplate saveExcerptTemplateToDatabase(String name, String template) {
@@ -17,6 +17,7 @@
 package com.epam.digital.data.platform.excerpt.api.config;
 
 
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptDownloadStreamer;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptGenerationService;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptRetrievingService;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptStatusCheckService;
@@ -40,4 +41,9 @@ public class TestBeansConfig {
   public ExcerptStatusCheckService testExcerptStatusCheckService() {
     return Mockito.mock(ExcerptStatusCheckService.class);
   }
+
+  @Bean
+  public ExcerptDownloadStreamer testExcerptDownloadStreamer() {
+    return Mockito.mock(ExcerptDownloadStreamer.class);
+  }
 }
@@ -18,6 +18,7 @@ package com.epam.digital.data.platform.excerpt.api.controller;
 
 import static com.epam.digital.data.platform.excerpt.api.TestUtils.readClassPathResource;
 import static com.epam.digital.data.platform.excerpt.api.util.Header.ACCESS_TOKEN;
+import static com.epam.digital.data.platform.excerpt.api.util.Header.IDEMPOTENCY_KEY;
 import static com.epam.digital.data.platform.excerpt.api.util.Header.X_DIGITAL_SIGNATURE;
 import static com.epam.digital.data.platform.excerpt.api.util.Header.X_DIGITAL_SIGNATURE_DERIVED;
 import static com.epam.digital.data.platform.excerpt.api.util.Header.X_SOURCE_APPLICATION;
@@ -26,25 +27,28 @@ import static com.epam.digital.data.platform.excerpt.api.util.Header.X_SOURCE_BU
 import static com.epam.digital.data.platform.excerpt.api.util.Header.X_SOURCE_SYSTEM;
 import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import com.epam.digital.data.platform.excerpt.api.BaseIT;
 import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
 import com.epam.digital.data.platform.excerpt.model.ExcerptEntityId;
-import com.epam.digital.data.platform.integration.ceph.model.CephObject;
-import com.epam.digital.data.platform.integration.ceph.model.CephObjectMetadata;
-import com.epam.digital.data.platform.integration.ceph.service.CephService;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -55,13 +59,8 @@ class ExcerptControllerIT extends BaseIT {
   @Autowired
   JwtHelper jwtHelper;
 
-  @MockBean(name = "excerptCephService")
-  CephService excerptCephService;
-
-  @Mock
-  CephObject cephObject;
-  @Mock
-  CephObjectMetadata cephObjectMetadata;
+  @MockBean(name = "excerptS3Client")
+  AmazonS3 excerptS3Client;
 
   private static String OFFICER_TOKEN;
 
@@ -115,6 +114,18 @@ class ExcerptControllerIT extends BaseIT {
     assertThat(excerptRecord.getUpdatedAt()).isNotNull();
   }
 
+  @Test
+  void shouldReturnOriginalExcerptIdForRepeatedIdempotencyKey() throws Exception {
+    saveExcerptTemplateToDatabase("template", readClassPathResource("/template.ftl"));
+    var requestJson = readClassPathResource("/json/request.json");
+
+    var firstId = generateWithIdempotencyKey(requestJson, "retry-key");
+    var secondId = generateWithIdempotencyKey(requestJson, "retry-key");
+
+    assertThat(secondId).isEqualTo(firstId);
+    assertThat(recordRepository.count()).isEqualTo(1);
+  }
+
   @Test
   void returnErrorWhenTemplateNotFound() throws Exception {
     var requestJson = readClassPathResource("/json/request.json");
@@ -134,11 +145,13 @@ class ExcerptControllerIT extends BaseIT {
     // given
     String resultExcerpt = "Result excerpt";
 
-    when(excerptCephService.get("bucket", "11111111-1111-1111-1111-111111111111"))
-        .thenReturn(Optional.ofNullable(cephObject));
-    when(cephObject.getMetadata()).thenReturn(cephObjectMetadata);
-    when(cephObject.getContent()).thenReturn(new ByteArrayInputStream(resultExcerpt.getBytes()));
-    when(cephObjectMetadata.getContentLength()).thenReturn(14L);
+    var metadata = new ObjectMetadata();
+    metadata.setContentLength(14L);
+    metadata.setHeader("ETag", "etag");
+    var s3Object = new S3Object();
+    s3Object.setObjectMetadata(metadata);
+    s3Object.setObjectContent(new ByteArrayInputStream(resultExcerpt.getBytes()));
+    when(excerptS3Client.getObject(any(GetObjectRequest.class))).thenReturn(s3Object);
 
     ExcerptRecord excerptRecord = new ExcerptRecord();
     excerptRecord.setKeycloakId(jwtHelper.getKeycloakId(OFFICER_TOKEN));
@@ -147,13 +160,35 @@ class ExcerptControllerIT extends BaseIT {
     excerptRecord = saveExcerptRecordToDatabase(excerptRecord);
 
     // when
-    var mvcResult = mockMvc.perform(get("/excerpts/" + excerptRecord.getId())
+    var asyncResult = mockMvc.perform(get("/excerpts/" + excerptRecord.getId())
             .header(ACCESS_TOKEN.getHeaderName(), OFFICER_TOKEN))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var mvcResult = mockMvc.perform(asyncDispatch(asyncResult))
         .andExpect(status().is2xxSuccessful())
         .andReturn();
 
     // then
     assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(resultExcerpt);
+    assertThat(mvcResult.getResponse().getHeader("ETag")).isEqualTo("\"etag\"");
+  }
+
+  @Test
+  void shouldReturnStatusesOfSeveralExcerpts() throws Exception {
+    var excerptRecord = new ExcerptRecord();
+    excerptRecord.setStatus(IN_PROGRESS);
+    excerptRecord = saveExcerptRecordToDatabase(excerptRecord);
+    var missingId = UUID.randomUUID();
+
+    mockMvc.perform(post("/excerpts/status")
+            .header(ACCESS_TOKEN.getHeaderName(), OFFICER_TOKEN)
+            .content("{\"excerptIds\": [\"" + excerptRecord.getId() + "\", \""
+                + missingId + "\"]}")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.statuses['" + excerptRecord.getId() + "'].status")
+            .value(IN_PROGRESS.toString()))
+        .andExpect(jsonPath("$.notFound[0]").value(missingId.toString()));
   }
 
   @Test
@@ -168,4 +203,19 @@ class ExcerptControllerIT extends BaseIT {
     mockMvc.perform(get("/excerpts/11111111-1111-1111-1111-111111111111"))
         .andExpect(status().isUnauthorized());
   }
+
+  private UUID generateWithIdempotencyKey(String requestJson, String idempotencyKey)
+      throws Exception {
+    var response = mockMvc.perform(
+            post("/excerpts")
+                .header(ACCESS_TOKEN.getHeaderName(), OFFICER_TOKEN)
+                .header(X_DIGITAL_SIGNATURE.getHeaderName(), "X_DIGITAL_SIGNATURE")
+                .header(X_DIGITAL_SIGNATURE_DERIVED.getHeaderName(), "X_DIGITAL_SIGNATURE_DERIVED")
+                .header(IDEMPOTENCY_KEY.getHeaderName(), idempotencyKey)
+                .content(requestJson)
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(response, ExcerptEntityId.class).getExcerptIdentifier();
+  }
 }
@@ -24,7 +24,8 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 
-@EntityScan("com.epam.digital.data.platform.excerpt.dao")
+@EntityScan({"com.epam.digital.data.platform.excerpt.dao",
+    "com.epam.digital.data.platform.excerpt.api.entity"})
 @SpringBootApplication
 public class ExcerptServiceApiApplication {
 
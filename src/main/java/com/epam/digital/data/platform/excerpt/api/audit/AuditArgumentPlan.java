@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.audit;
+
+import com.epam.digital.data.platform.excerpt.api.exception.AuditException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class AuditArgumentPlan {
+
+  private static final int AMBIGUOUS = -1;
+
+  private static final Map<Method, AuditArgumentPlan> plans = new ConcurrentHashMap<>();
+
+  private final Map<Class<?>, Integer> indexes;
+
+  private AuditArgumentPlan(Map<Class<?>, Integer> indexes) {
+    this.indexes = indexes;
+  }
+
+  static AuditArgumentPlan of(Method method) {
+    return plans.computeIfAbsent(method, AuditArgumentPlan::resolve);
+  }
+
+  int indexOf(Class<?> clazz) {
+    var index = indexes.get(clazz);
+    if (index == null || index == AMBIGUOUS) {
+      throw new AuditException("The number of arguments of the given type is not equal to one");
+    }
+    return index;
+  }
+
+  private static AuditArgumentPlan resolve(Method method) {
+    var parameterTypes = method.getParameterTypes();
+    var indexes = new HashMap<Class<?>, Integer>();
+    for (int i = 0; i < parameterTypes.length; i++) {
+      indexes.merge(parameterTypes[i], i, (existing, duplicate) -> AMBIGUOUS);
+    }
+    return new AuditArgumentPlan(Map.copyOf(indexes));
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.audit;
+
+import com.epam.digital.data.platform.starter.audit.model.AuditEvent;
+import com.epam.digital.data.platform.starter.audit.service.AuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuditEventDispatcher {
+
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
+  private final Logger log = LoggerFactory.getLogger(AuditEventDispatcher.class);
+
+  private final AuditService auditService;
+  private final BlockingQueue<AuditEvent> queue;
+  private final int batchSize;
+  private final Duration offerTimeout;
+  private final Duration shutdownTimeout;
+  private final Thread sender;
+  private final Counter droppedCounter;
+  private final Counter failedCounter;
+  private final Counter sentCounter;
+
+  private volatile boolean running = true;
+
+  public AuditEventDispatcher(
+      AuditService auditService,
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.audit.queue-capacity:10000}") int queueCapacity,
+      @Value("${excerpt.audit.batch-size:100}") int batchSize,
+      @Value("${excerpt.audit.offer-timeout:1s}") Duration offerTimeout,
+      @Value("${excerpt.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+    this.auditService = auditService;
+    this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.offerTimeout = offerTimeout;
+    this.shutdownTimeout = shutdownTimeout;
+    this.sender = new Thread(this::sendLoop, "excerpt-audit-sender");
+    this.sender.setDaemon(true);
+    this.droppedCounter = meterRegistry.counter("excerpt.audit.events", "result", "dropped");
+    this.failedCounter = meterRegistry.counter("excerpt.audit.events", "result", "failed");
+    this.sentCounter = meterRegistry.counter("excerpt.audit.events", "result", "sent");
+    meterRegistry.gaugeCollectionSize("excerpt.audit.queue.size", List.of(), queue);
+  }
+
+  @PostConstruct
+  public void start() {
+    sender.start();
+  }
+
+  public void dispatch(AuditEvent event) {
+    if (!running) {
+      send(event);
+      return;
+    }
+    try {
+      if (!queue.offer(event, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        droppedCounter.increment();
+        log.error("Audit queue is full, {} event {} dropped", event.getEventType(),
+            event.getName());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      droppedCounter.increment();
+      log.error("Interrupted while queueing {} event {}, event dropped", event.getEventType(),
+          event.getName());
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    sender.join(shutdownTimeout.toMillis());
+    if (!queue.isEmpty()) {
+      log.error("{} audit event(s) were not sent before shutdown", queue.size());
+    }
+  }
+
+  private void sendLoop() {
+    var batch = new ArrayList<AuditEvent>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        var first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        batch.forEach(this::send);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void send(AuditEvent event) {
+    try {
+      auditService.sendAudit(event);
+      sentCounter.increment();
+    } catch (RuntimeException e) {
+      failedCounter.increment();
+      log.error("Could not send {} event {} to audit", event.getEventType(), event.getName(), e);
+    }
+  }
+}
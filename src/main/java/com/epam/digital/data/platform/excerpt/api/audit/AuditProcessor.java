@@ -16,29 +16,17 @@
 
 package com.epam.digital.data.platform.excerpt.api.audit;
 
-import com.epam.digital.data.platform.excerpt.api.exception.AuditException;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-
-import java.util.Arrays;
-import java.util.Objects;
+import org.aspectj.lang.reflect.MethodSignature;
 
 public interface AuditProcessor<O> {
 
   Object process(ProceedingJoinPoint joinPoint, O operation) throws Throwable;
 
   default <T> T getArgumentByType(JoinPoint joinPoint, Class<T> clazz) {
-    long numberOfArgumentsOfTheSameType = Arrays.stream(joinPoint.getArgs())
-        .filter(Objects::nonNull)
-        .filter(x -> x.getClass().equals(clazz))
-        .count();
-
-    if (numberOfArgumentsOfTheSameType != 1) {
-      throw new AuditException("The number of arguments of the given type is not equal to one");
-    }
-    return (T) Arrays.stream(joinPoint.getArgs())
-        .filter(Objects::nonNull)
-        .filter(x -> x.getClass().equals(clazz))
-        .findFirst().get();
+    var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    var index = AuditArgumentPlan.of(method).indexOf(clazz);
+    return clazz.cast(joinPoint.getArgs()[index]);
   }
 }
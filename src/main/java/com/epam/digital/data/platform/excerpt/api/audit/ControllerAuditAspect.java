@@ -18,6 +18,8 @@ package com.epam.digital.data.platform.excerpt.api.audit;
 
 import com.epam.digital.data.platform.excerpt.api.exception.AuditException;
 import com.epam.digital.data.platform.excerpt.api.model.DetailedErrorResponse;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchItemResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchRequest;
 import com.epam.digital.data.platform.excerpt.api.model.audit.ExceptionAuditEvent;
 import com.epam.digital.data.platform.starter.audit.model.EventType;
 import org.aspectj.lang.JoinPoint;
@@ -33,10 +35,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Aspect
@@ -53,6 +59,9 @@ public class ControllerAuditAspect {
   static final String AFTER = "AFTER";
 
   private final RestAuditEventsFacade restAuditEventsFacade;
+  private final Map<Method, AuditMethodDescriptor> controllerDescriptors =
+      new ConcurrentHashMap<>();
+  private final Map<Method, Boolean> exceptionUserInfoEnabled = new ConcurrentHashMap<>();
 
   public ControllerAuditAspect(RestAuditEventsFacade restAuditEventsFacade) {
     this.restAuditEventsFacade = restAuditEventsFacade;
@@ -68,36 +77,42 @@ public class ControllerAuditAspect {
 
   @AfterReturning(pointcut = "auditableExceptionPointcut()", returning = "response")
   void exceptionAudit(JoinPoint joinPoint, ResponseEntity<?> response) {
-    var auditableExceptionAnnotation = ((MethodSignature) joinPoint.getSignature())
-        .getMethod()
-        .getAnnotation(AuditableException.class);
-    prepareAndSendExceptionAudit(response, auditableExceptionAnnotation);
+    var userInfoEnabled = exceptionUserInfoEnabled.computeIfAbsent(
+        ((MethodSignature) joinPoint.getSignature()).getMethod(),
+        method -> method.getAnnotation(AuditableException.class).userInfoEnabled());
+    prepareAndSendExceptionAudit(response, userInfoEnabled);
   }
 
   @Around("controller() && args(object,..)")
   Object controllerAudit(ProceedingJoinPoint joinPoint, Object object) throws Throwable {
 
-    var auditableControllerAnnotation = ((MethodSignature) joinPoint.getSignature())
-            .getMethod()
-            .getAnnotation(AuditableController.class);
-    var httpAnnotation = getAnnotation(joinPoint);
+    var descriptor = getDescriptor(((MethodSignature) joinPoint.getSignature()).getMethod());
+    var httpAnnotation = descriptor.getHttpAnnotation();
 
     if (httpAnnotation.equals(GetMapping.class) && object instanceof UUID) {
-      return prepareAndSendRestAudit(
-          joinPoint, auditableControllerAnnotation.action(), (UUID) object);
+      return prepareAndSendRestAudit(joinPoint, descriptor.getAction(), (UUID) object);
+    } else if (httpAnnotation.equals(PostMapping.class) && object instanceof ExcerptBatchRequest) {
+      return prepareAndSendBatchRestAudit(joinPoint, descriptor.getAction(),
+          ((ExcerptBatchRequest) object).getExcerpts().size());
     } else if (httpAnnotation.equals(PostMapping.class)) {
-      return prepareAndSendRestAudit(
-          joinPoint, auditableControllerAnnotation.action(), null);
+      return prepareAndSendRestAudit(joinPoint, descriptor.getAction(), null);
     } else {
       throw new AuditException("Cannot save audit for this HTTP method. Not supported annotation: @"
           + httpAnnotation.getSimpleName());
     }
   }
 
-  private Class<? extends Annotation> getAnnotation(ProceedingJoinPoint joinPoint) {
-    var annotations = Arrays.stream(((MethodSignature) joinPoint.getSignature())
-            .getMethod()
-            .getAnnotations())
+  AuditMethodDescriptor getDescriptor(Method method) {
+    return controllerDescriptors.computeIfAbsent(method, this::describe);
+  }
+
+  private AuditMethodDescriptor describe(Method method) {
+    var action = method.getAnnotation(AuditableController.class).action();
+    return new AuditMethodDescriptor(action, getHttpAnnotation(method));
+  }
+
+  private Class<? extends Annotation> getHttpAnnotation(Method method) {
+    var annotations = Arrays.stream(method.getAnnotations())
         .map(Annotation::annotationType)
         .collect(Collectors.toCollection(ArrayList::new));
 
@@ -112,7 +127,7 @@ public class ControllerAuditAspect {
   }
 
   private void prepareAndSendExceptionAudit(ResponseEntity<?> response,
-      AuditableException auditableException) {
+      boolean userInfoEnabled) {
     var exceptionAuditEvent = new ExceptionAuditEvent();
     String action;
     if (response.getBody() instanceof DetailedErrorResponse) {
@@ -129,7 +144,7 @@ public class ControllerAuditAspect {
       eventType = EventType.USER_ACTION;
     }
     exceptionAuditEvent.setEventType(eventType);
-    exceptionAuditEvent.setUserInfoEnabled(auditableException.userInfoEnabled());
+    exceptionAuditEvent.setUserInfoEnabled(userInfoEnabled);
 
     restAuditEventsFacade.sendExceptionAudit(exceptionAuditEvent);
   }
@@ -150,4 +165,28 @@ public class ControllerAuditAspect {
 
     return result;
   }
+
+  private Object prepareAndSendBatchRestAudit(ProceedingJoinPoint joinPoint, String action,
+      int batchSize) throws Throwable {
+
+    String methodName = joinPoint.getSignature().getName();
+
+    for (int i = 0; i < batchSize; i++) {
+      restAuditEventsFacade
+          .sendRestAudit(EventType.USER_ACTION, methodName, action, BEFORE, null, null);
+    }
+
+    Object result = joinPoint.proceed();
+
+    var response = (ResponseEntity<?>) result;
+    var responseStatus = response.getStatusCode().getReasonPhrase();
+    for (Object item : (List<?>) response.getBody()) {
+      var itemResult = (ExcerptBatchItemResult) item;
+      var itemStatus = itemResult.getCode() == null ? responseStatus : itemResult.getCode();
+      restAuditEventsFacade.sendRestAudit(EventType.USER_ACTION, methodName,
+          action, AFTER, itemResult.getExcerptIdentifier(), itemStatus);
+    }
+
+    return result;
+  }
 }
@@ -18,11 +18,11 @@ package com.epam.digital.data.platform.excerpt.api.audit;
 
 import com.epam.digital.data.platform.excerpt.api.model.audit.ExceptionAuditEvent;
 import com.epam.digital.data.platform.excerpt.api.service.TraceProvider;
+import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.starter.audit.model.AuditUserInfo;
 import com.epam.digital.data.platform.starter.audit.model.EventType;
 import com.epam.digital.data.platform.starter.audit.service.AbstractAuditFacade;
 import com.epam.digital.data.platform.starter.audit.service.AuditService;
-import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,7 +40,8 @@ public class RestAuditEventsFacade extends AbstractAuditFacade {
 
   private final TraceProvider traceProvider;
   private final AuditSourceInfoProvider auditSourceInfoProvider;
-  private final TokenParser tokenParser;
+  private final JwtHelper jwtHelper;
+  private final AuditEventDispatcher auditEventDispatcher;
 
   public RestAuditEventsFacade(
       AuditService auditService,
@@ -48,11 +49,13 @@ public class RestAuditEventsFacade extends AbstractAuditFacade {
       Clock clock,
       TraceProvider traceProvider,
       AuditSourceInfoProvider auditSourceInfoProvider,
-      TokenParser tokenParser) {
+      JwtHelper jwtHelper,
+      AuditEventDispatcher auditEventDispatcher) {
     super(auditService, appName, clock);
     this.traceProvider = traceProvider;
     this.auditSourceInfoProvider = auditSourceInfoProvider;
-    this.tokenParser = tokenParser;
+    this.jwtHelper = jwtHelper;
+    this.auditEventDispatcher = auditEventDispatcher;
   }
 
   public void sendExceptionAudit(ExceptionAuditEvent exceptionAuditEvent) {
@@ -68,8 +71,8 @@ public class RestAuditEventsFacade extends AbstractAuditFacade {
       setUserInfoToEvent(event, traceProvider.getAccessToken());
     }
 
-    log.debug("Sending Exception to Audit");
-    auditService.sendAudit(event.build());
+    log.debug("Queueing Exception for Audit");
+    auditEventDispatcher.dispatch(event.build());
   }
 
   public void sendRestAudit(
@@ -88,8 +91,8 @@ public class RestAuditEventsFacade extends AbstractAuditFacade {
     event.setContext(context);
     setUserInfoToEvent(event, traceProvider.getAccessToken());
 
-    log.debug("Sending {} {} event to Audit", step, action);
-    auditService.sendAudit(event.build());
+    log.debug("Queueing {} {} event for Audit", step, action);
+    auditEventDispatcher.dispatch(event.build());
   }
 
   private void setUserInfoToEvent(GroupedAuditEventBuilder event, String jwt) {
@@ -97,7 +100,7 @@ public class RestAuditEventsFacade extends AbstractAuditFacade {
       return;
     }
 
-    var jwtClaimsDto = tokenParser.parseClaims(jwt);
+    var jwtClaimsDto = jwtHelper.getClaims(jwt);
     var userInfo = AuditUserInfo.AuditUserInfoBuilder.anAuditUserInfo()
             .userName(jwtClaimsDto.getFullName())
             .userKeycloakId(jwtClaimsDto.getSubject())
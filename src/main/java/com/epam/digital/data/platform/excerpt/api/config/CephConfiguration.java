@@ -16,9 +16,10 @@
 
 package com.epam.digital.data.platform.excerpt.api.config;
 
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.services.s3.AmazonS3;
 import com.epam.digital.data.platform.integration.ceph.config.S3ConfigProperties;
 import com.epam.digital.data.platform.integration.ceph.factory.CephS3Factory;
-import com.epam.digital.data.platform.integration.ceph.service.CephService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -39,11 +40,33 @@ public class CephConfiguration {
   }
 
   @Bean
-  public CephService excerptCephService(
+  @ConfigurationProperties(prefix = "s3.config.client")
+  public ClientConfiguration cephS3ClientConfiguration() {
+    return new ClientConfiguration();
+  }
+
+  @Bean
+  public CephS3ClientFactory cephS3ClientFactory(ClientConfiguration cephS3ClientConfiguration,
+      @Value("${s3.config.options.pathStyleAccess:true}") boolean pathStyleAccess) {
+    return new CephS3ClientFactory(cephS3ClientConfiguration, pathStyleAccess);
+  }
+
+  @Bean
+  public AmazonS3 excerptS3Client(CephS3ClientFactory cephS3ClientFactory,
       @Value("${datafactory-excerpt-ceph.http-endpoint}") String uri,
       @Value("${datafactory-excerpt-ceph.access-key}") String accessKey,
-      @Value("${datafactory-excerpt-ceph.secret-key}") String secretKey,
-      CephS3Factory cephS3Factory) {
-    return cephS3Factory.createCephService(uri, accessKey, secretKey);
+      @Value("${datafactory-excerpt-ceph.secret-key}") String secretKey) {
+    return cephS3ClientFactory.create(uri, accessKey, secretKey);
+  }
+
+  @Bean
+  public AmazonS3 excerptPresignS3Client(CephS3ClientFactory cephS3ClientFactory,
+      @Value("${datafactory-excerpt-ceph.public-http-endpoint:${datafactory-excerpt-ceph.http-endpoint}}")
+          String uri,
+      @Value("${datafactory-excerpt-ceph.access-key}") String accessKey,
+      @Value("${datafactory-excerpt-ceph.secret-key}") String secretKey) {
+    // presigned URLs are signed for the host clients will use, which may differ from the
+    // in-cluster endpoint; signing itself never calls Ceph
+    return cephS3ClientFactory.create(uri, accessKey, secretKey);
   }
 }
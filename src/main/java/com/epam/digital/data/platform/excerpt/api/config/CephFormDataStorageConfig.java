@@ -16,10 +16,13 @@
 
 package com.epam.digital.data.platform.excerpt.api.config;
 
+import com.epam.digital.data.platform.excerpt.api.service.CephSignatureCopier;
 import com.epam.digital.data.platform.storage.form.config.CephStorageConfiguration;
 import com.epam.digital.data.platform.storage.form.factory.StorageServiceFactory;
 import com.epam.digital.data.platform.storage.form.service.FormDataStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -55,4 +58,33 @@ public class CephFormDataStorageConfig {
       CephStorageConfiguration datafactoryExcerptDataStorageConfiguration) {
     return factory.formDataStorageService(datafactoryExcerptDataStorageConfiguration);
   }
+
+  /**
+   * The copy runs with a single credential that must read the request signature bucket and write
+   * the excerpt signature one: either {@code excerpt.signature-copy.access-key} or, when both
+   * storages share it, the storages' own access key.
+   */
+  @Bean
+  @ConditionalOnBean(name = {"lowcodeCephFormDataStorageConfiguration",
+      "datafactoryExcerptDataStorageConfiguration"})
+  @ConditionalOnExpression("${excerpt.signature-copy.server-side:true} and "
+      + "'${storage.lowcode-form-form-data-storage.backend.ceph.http-endpoint:}' == "
+      + "'${storage.datafactory-excerpt-signature-storage.backend.ceph.http-endpoint:}' and "
+      + "('${excerpt.signature-copy.access-key:}' != '' or "
+      + "'${storage.lowcode-form-form-data-storage.backend.ceph.access-key:}' == "
+      + "'${storage.datafactory-excerpt-signature-storage.backend.ceph.access-key:}')")
+  public CephSignatureCopier cephSignatureCopier(
+      CephStorageConfiguration lowcodeCephFormDataStorageConfiguration,
+      CephStorageConfiguration datafactoryExcerptDataStorageConfiguration,
+      CephS3ClientFactory cephS3ClientFactory,
+      @Value("${excerpt.signature-copy.access-key:}") String accessKey,
+      @Value("${excerpt.signature-copy.secret-key:}") String secretKey) {
+    var target = datafactoryExcerptDataStorageConfiguration;
+    var s3Client = accessKey.isEmpty()
+        ? cephS3ClientFactory.create(target.getHttpEndpoint(), target.getAccessKey(),
+            target.getSecretKey())
+        : cephS3ClientFactory.create(target.getHttpEndpoint(), accessKey, secretKey);
+    return new CephSignatureCopier(s3Client,
+        lowcodeCephFormDataStorageConfiguration.getBucket(), target.getBucket());
+  }
 }
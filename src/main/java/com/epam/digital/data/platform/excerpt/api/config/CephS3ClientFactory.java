@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.config;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+
+/**
+ * Builds plain {@link AmazonS3} clients with the {@code s3.config} client settings shared with the
+ * ddm-ceph-client {@code CephS3Factory}, which only hands out {@code CephService} instances.
+ */
+public class CephS3ClientFactory {
+
+  private final ClientConfiguration clientConfiguration;
+  private final boolean pathStyleAccess;
+
+  public CephS3ClientFactory(ClientConfiguration clientConfiguration, boolean pathStyleAccess) {
+    this.clientConfiguration = clientConfiguration;
+    this.pathStyleAccess = pathStyleAccess;
+  }
+
+  public AmazonS3 create(String endpoint, String accessKey, String secretKey) {
+    return AmazonS3ClientBuilder.standard()
+        .withCredentials(
+            new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)))
+        .withEndpointConfiguration(new EndpointConfiguration(endpoint, null))
+        .withClientConfiguration(new ClientConfiguration(clientConfiguration))
+        .withPathStyleAccessEnabled(pathStyleAccess)
+        .build();
+  }
+}
@@ -3,12 +3,25 @@ package com.epam.digital.data.platform.excerpt.api.config;
 import com.epam.digital.data.platform.storage.form.config.RedisStorageConfiguration;
 import com.epam.digital.data.platform.storage.form.factory.StorageServiceFactory;
 import com.epam.digital.data.platform.storage.form.service.FormDataStorageService;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration.LettuceClientConfigurationBuilder;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 
 @Configuration
 public class RedisFormDataStorageConfig {
@@ -27,10 +40,90 @@ public class RedisFormDataStorageConfig {
     return factory.formDataStorageService(redisConnectionFactory);
   }
 
+  @Bean(destroyMethod = "shutdown")
+  @ConditionalOnBean(name = "lowcodeRedisFormDataStorageConfiguration")
+  public ClientResources excerptRedisClientResources(MeterRegistry meterRegistry,
+      @Value("${excerpt.redis.metrics.enabled:true}") boolean metricsEnabled) {
+    // publishes lettuce.command.completion and lettuce.command.firstresponse timers per command
+    var commandLatencyRecorder = metricsEnabled
+        ? new MicrometerCommandLatencyRecorder(meterRegistry, MicrometerOptions.create())
+        : CommandLatencyRecorder.disabled();
+    return DefaultClientResources.builder()
+        .commandLatencyRecorder(commandLatencyRecorder)
+        .build();
+  }
+
   @Bean
   @ConditionalOnBean(name = "lowcodeRedisFormDataStorageConfiguration")
   public RedisConnectionFactory redisConnectionFactory(StorageServiceFactory factory,
-      RedisStorageConfiguration lowcodeRedisFormDataStorageConfiguration) {
-    return factory.redisConnectionFactory(lowcodeRedisFormDataStorageConfiguration);
+      RedisStorageConfiguration lowcodeRedisFormDataStorageConfiguration,
+      ClientResources excerptRedisClientResources,
+      @Value("${excerpt.redis.command-timeout:5s}") Duration commandTimeout,
+      @Value("${excerpt.redis.shutdown-timeout:100ms}") Duration shutdownTimeout,
+      @Value("${excerpt.redis.pool.enabled:false}") boolean poolEnabled,
+      @Value("${excerpt.redis.pool.max-active:8}") int poolMaxActive,
+      @Value("${excerpt.redis.pool.max-idle:8}") int poolMaxIdle,
+      @Value("${excerpt.redis.pool.min-idle:0}") int poolMinIdle,
+      @Value("${excerpt.redis.pool.max-wait:1s}") Duration poolMaxWait,
+      @Value("${excerpt.redis.eager-initialization:true}") boolean eagerInitialization) {
+    var connectionFactory =
+        factory.redisConnectionFactory(lowcodeRedisFormDataStorageConfiguration);
+    if (!(connectionFactory instanceof LettuceConnectionFactory)) {
+      return connectionFactory;
+    }
+    // the starter only knows the connection target, so the lettuce client is rebuilt around it
+    var starterConnectionFactory = (LettuceConnectionFactory) connectionFactory;
+    var starterClientConfiguration = starterConnectionFactory.getClientConfiguration();
+
+    LettuceClientConfigurationBuilder builder;
+    if (poolEnabled) {
+      var poolConfig = new GenericObjectPoolConfig<>();
+      poolConfig.setMaxTotal(poolMaxActive);
+      poolConfig.setMaxIdle(poolMaxIdle);
+      poolConfig.setMinIdle(poolMinIdle);
+      poolConfig.setMaxWait(poolMaxWait);
+      builder = LettucePoolingClientConfiguration.builder().poolConfig(poolConfig);
+    } else {
+      builder = LettuceClientConfiguration.builder();
+    }
+    if (starterClientConfiguration.isUseSsl()) {
+      var sslBuilder = builder.useSsl();
+      if (!starterClientConfiguration.isVerifyPeer()) {
+        sslBuilder.disablePeerVerification();
+      }
+      if (starterClientConfiguration.isStartTls()) {
+        sslBuilder.startTls();
+      }
+      builder = sslBuilder.and();
+    }
+    starterClientConfiguration.getClientOptions().ifPresent(builder::clientOptions);
+    starterClientConfiguration.getClientName().ifPresent(builder::clientName);
+    var clientConfiguration = builder
+        .clientResources(excerptRedisClientResources)
+        .commandTimeout(commandTimeout)
+        .shutdownTimeout(shutdownTimeout)
+        .build();
+
+    var lettuceConnectionFactory = createLettuceConnectionFactory(starterConnectionFactory,
+        clientConfiguration);
+    // pooled connections are dedicated, otherwise every thread shares one multiplexed connection
+    lettuceConnectionFactory.setShareNativeConnection(!poolEnabled);
+    lettuceConnectionFactory.setEagerInitialization(eagerInitialization);
+    return lettuceConnectionFactory;
+  }
+
+  private LettuceConnectionFactory createLettuceConnectionFactory(
+      LettuceConnectionFactory starterConnectionFactory,
+      LettuceClientConfiguration clientConfiguration) {
+    if (starterConnectionFactory.isRedisSentinelAware()) {
+      return new LettuceConnectionFactory(starterConnectionFactory.getSentinelConfiguration(),
+          clientConfiguration);
+    }
+    if (starterConnectionFactory.isClusterAware()) {
+      return new LettuceConnectionFactory(starterConnectionFactory.getClusterConfiguration(),
+          clientConfiguration);
+    }
+    return new LettuceConnectionFactory(starterConnectionFactory.getStandaloneConfiguration(),
+        clientConfiguration);
   }
 }
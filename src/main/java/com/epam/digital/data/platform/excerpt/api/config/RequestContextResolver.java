@@ -48,6 +48,7 @@ public class RequestContextResolver implements HandlerMethodArgumentResolver {
 
     context.setSourceBusinessActivity(
         webRequest.getHeader(Header.X_SOURCE_BUSINESS_ACTIVITY.getHeaderName()));
+    context.setIdempotencyKey(webRequest.getHeader(Header.IDEMPOTENCY_KEY.getHeaderName()));
 
     return context;
   }
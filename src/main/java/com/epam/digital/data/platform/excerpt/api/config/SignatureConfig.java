@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SignatureConfig {
+
+  @Bean
+  public ThreadPoolTaskExecutor signatureExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.signature.max-concurrency:30}") int maxConcurrency,
+      @Value("${excerpt.signature.queue-capacity:60}") int queueCapacity) {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxConcurrency);
+    executor.setMaxPoolSize(maxConcurrency);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("excerpt-signature-");
+    // when saturated, signature calls fall back to running on the request thread
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setTaskDecorator(task -> {
+      var context = MDC.getCopyOfContextMap();
+      return () -> {
+        var previous = MDC.getCopyOfContextMap();
+        if (context != null) {
+          MDC.setContextMap(context);
+        }
+        try {
+          task.run();
+        } finally {
+          if (previous != null) {
+            MDC.setContextMap(previous);
+          } else {
+            MDC.clear();
+          }
+        }
+      };
+    });
+    executor.initialize();
+    new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "excerpt.signature", Tags.empty())
+        .bindTo(meterRegistry);
+    return executor;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class SignedBodyCachingFilter extends OncePerRequestFilter {
+
+  public static final String SIGNED_BODY_ATTRIBUTE =
+      SignedBodyCachingFilter.class.getName() + ".SIGNED_BODY";
+
+  private final long maxSize;
+
+  public SignedBodyCachingFilter(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    var contentLength = request.getContentLengthLong();
+    return !HttpMethod.POST.matches(request.getMethod())
+        || contentLength < 0 || contentLength > maxSize;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    var body = request.getInputStream().readNBytes((int) request.getContentLengthLong());
+    var charset = request.getCharacterEncoding() == null
+        ? StandardCharsets.UTF_8.name() : request.getCharacterEncoding();
+    request.setAttribute(SIGNED_BODY_ATTRIBUTE, new String(body, charset));
+    filterChain.doFilter(new CachedBodyRequest(request, body), response);
+  }
+
+  private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      var inputStream = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return inputStream.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          // the whole body is already in memory, so it is available and complete right away
+          try {
+            if (!isFinished()) {
+              readListener.onDataAvailable();
+            }
+            if (isFinished()) {
+              readListener.onAllDataRead();
+            }
+          } catch (IOException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() {
+          return inputStream.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return inputStream.read(b, off, len);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+      var charset = getCharacterEncoding() == null
+          ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+  }
+}
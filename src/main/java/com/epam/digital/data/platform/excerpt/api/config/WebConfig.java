@@ -17,7 +17,12 @@
 package com.epam.digital.data.platform.excerpt.api.config;
 
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -30,4 +35,13 @@ public class WebConfig implements WebMvcConfigurer {
     resolvers.add(new SecurityContextResolver());
   }
 
+  @Bean
+  @ConditionalOnProperty(name = "excerpt.signature.request-body.enabled", havingValue = "true")
+  public FilterRegistrationBean<SignedBodyCachingFilter> signedBodyCachingFilter(
+      @Value("${excerpt.signature.request-body.max-size:1MB}") DataSize maxSize) {
+    var registration =
+        new FilterRegistrationBean<>(new SignedBodyCachingFilter(maxSize.toBytes()));
+    registration.addUrlPatterns("/excerpts");
+    return registration;
+  }
 }
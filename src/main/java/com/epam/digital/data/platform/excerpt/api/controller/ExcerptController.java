@@ -20,8 +20,16 @@ import com.epam.digital.data.platform.excerpt.api.annotation.HttpRequestContext;
 import com.epam.digital.data.platform.excerpt.api.annotation.HttpSecurityContext;
 import com.epam.digital.data.platform.excerpt.api.audit.AuditableController;
 import com.epam.digital.data.platform.excerpt.api.model.DetailedErrorResponse;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchItemResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchRequest;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptFile;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusBatchRequest;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusBatchResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusEvent;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptUrl;
 import com.epam.digital.data.platform.excerpt.api.model.RequestContext;
 import com.epam.digital.data.platform.excerpt.api.model.SecurityContext;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptDownloadStreamer;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptGenerationService;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptRetrievingService;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptStatusCheckService;
@@ -31,26 +39,42 @@ import com.epam.digital.data.platform.excerpt.model.StatusDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.apache.catalina.Globals;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Tag(description = "Excerpts management service Rest API", name = "excerpts-service-api")
 @RestController
@@ -59,32 +83,51 @@ public class ExcerptController {
 
   private static final String CONTENT_DISPOSITION_HEADER_NAME = "Content-Disposition";
   private static final String ATTACHMENT_HEADER_VALUE = "attachment; filename=\"%s.%s\"";
+  private static final String BYTES_RANGE_UNIT = "bytes";
+  private static final String CONTENT_RANGE_HEADER_VALUE = "bytes %d-%d/%d";
+  private static final int MAX_SUBSCRIBED_EXCERPTS = 100;
+  private static final Duration SENDFILE_RELEASE_DELAY = Duration.ofMinutes(1);
 
   private final Logger log = LoggerFactory.getLogger(ExcerptController.class);
 
   private final ExcerptGenerationService excerptGenerationService;
   private final ExcerptRetrievingService excerptRetrievingService;
   private final ExcerptStatusCheckService excerptStatusCheckService;
+  private final ExcerptDownloadStreamer excerptDownloadStreamer;
+
+  private final boolean isRedirectToPresignedUrl;
 
   public ExcerptController(
       ExcerptGenerationService excerptGenerationService,
       ExcerptRetrievingService excerptRetrievingService,
-      ExcerptStatusCheckService excerptStatusCheckService) {
+      ExcerptStatusCheckService excerptStatusCheckService,
+      ExcerptDownloadStreamer excerptDownloadStreamer,
+      @Value("${excerpt.retrieval.presigned-url.redirect:false}") boolean isRedirectToPresignedUrl) {
     this.excerptGenerationService = excerptGenerationService;
     this.excerptRetrievingService = excerptRetrievingService;
     this.excerptStatusCheckService = excerptStatusCheckService;
+    this.excerptDownloadStreamer = excerptDownloadStreamer;
+    this.isRedirectToPresignedUrl = isRedirectToPresignedUrl;
   }
 
   @Operation(
       summary = "Create an excerpt generation record",
-      description = "### Endpoint purpose:\n  Creates an excerpt generation record by sending required parameters as JSON data. Returns the UUID of the generated excerpt, which can be used to access the generated document.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
-      parameters = @Parameter(
-          in = ParameterIn.HEADER,
-          name = "X-Access-Token",
-          description = "Token used for endpoint security",
-          required = true,
-          schema = @Schema(type = "string")
-      ),
+      description = "### Endpoint purpose:\n  Creates an excerpt generation record by sending required parameters as JSON data. Returns the UUID of the generated excerpt, which can be used to access the generated document. A request repeated with the same _Idempotency-Key_ header and body returns the UUID of the originally generated excerpt without creating a new one; reusing the key with a different body is rejected.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
+      parameters = {
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "X-Access-Token",
+              description = "Token used for endpoint security",
+              required = true,
+              schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "Idempotency-Key",
+              description = "Client generated key used to safely retry the request",
+              schema = @Schema(type = "string")
+          )
+      },
       requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
           content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
               schema = @Schema(implementation = ExcerptEventDto.class),
@@ -122,6 +165,12 @@ public class ExcerptController {
               description = "Unauthorized. Missing or invalid access token or digital signature.",
               content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
           ),
+          @ApiResponse(
+              responseCode = "422",
+              description = "Unprocessable Entity. The idempotency key was already used with a different request body.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
           @ApiResponse(
               responseCode = "500",
               description = "Internal Server Error. Error occurred during the excerpt generation process.",
@@ -140,6 +189,88 @@ public class ExcerptController {
         .body(excerptGenerationService.generateExcerpt(excerptEventDto, requestContext, securityContext));
   }
 
+  @Operation(
+      summary = "Create excerpt generation records in batch",
+      description = "### Endpoint purpose:\n  Creates up to " + ExcerptBatchRequest.MAX_SIZE + " excerpt generation records in one call. Returns a result per requested excerpt in the request order: either the UUID of the generated excerpt or an error code with details, so that one invalid item does not fail the whole batch.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code. If digital signature is enabled, the signature headers must sign the whole request body.",
+      parameters = @Parameter(
+          in = ParameterIn.HEADER,
+          name = "X-Access-Token",
+          description = "Token used for endpoint security",
+          required = true,
+          schema = @Schema(type = "string")
+      ),
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+              schema = @Schema(implementation = ExcerptBatchRequest.class),
+              examples = {
+                  @ExampleObject(value = "{\n" +
+                      "  \"excerpts\": [\n" +
+                      "    {\n" +
+                      "      \"excerptType\": \"subject-laboratories-accreditation-excerpt\",\n" +
+                      "      \"requiresSystemSignature\": true,\n" +
+                      "      \"excerptInputData\": {\n" +
+                      "        \"subjectId\": \"<UUID>\"\n" +
+                      "      }\n" +
+                      "    }\n" +
+                      "  ]\n" +
+                      "}"
+                  )
+              })
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "OK. Batch processed, see per-item results.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  array = @ArraySchema(schema = @Schema(implementation = ExcerptBatchItemResult.class)),
+                  examples = {
+                      @ExampleObject(value = "[\n" +
+                          "  {\n" +
+                          "    \"excerptIdentifier\": \"<UUID>\"\n" +
+                          "  },\n" +
+                          "  {\n" +
+                          "    \"code\": \"TEMPLATE_NOT_FOUND\",\n" +
+                          "    \"details\": \"Template not found: unknown-excerpt\"\n" +
+                          "  }\n" +
+                          "]"
+                      )
+                  })
+          ),
+          @ApiResponse(
+              responseCode = "400",
+              description = "Bad Request. Incorrect request parameters.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+          ),
+          @ApiResponse(
+              responseCode = "401",
+              description = "Unauthorized. Missing or invalid access token or digital signature.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+          ),
+          @ApiResponse(
+              responseCode = "422",
+              description = "Unprocessable Entity. Empty or too large batch, or invalid items.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Internal Server Error. Error occurred during the excerpt generation process.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+      })
+  @AuditableController(action = "GENERATE EXCERPT CALL")
+  @PostMapping("/batch")
+  public ResponseEntity<List<ExcerptBatchItemResult>> generateBatch(
+      @Valid @RequestBody ExcerptBatchRequest excerptBatchRequest,
+      @HttpRequestContext RequestContext requestContext,
+      @HttpSecurityContext SecurityContext securityContext) {
+    log.info("Excerpt batch generation called");
+    return ResponseEntity.ok()
+        .body(excerptGenerationService.generateExcerpts(excerptBatchRequest, requestContext,
+            securityContext));
+  }
+
   @Operation(
       summary = "Retrieve an excerpt file",
       description = "### Endpoint purpose:\n This endpoint allows users to download an excerpt file based on the provided excerpt ID. Returns the excerpt file as a downloadable resource.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code. \n ### Validation: During excerpt creation, the system performs validation of the digital signature if enabled, and validation of the template associated with the excerpt type. If these validations fail, an exception is thrown. If all input data is correct, a new excerpt is created and its ID is returned in the response. \n ### Validation: During excerpt creation, the system performs validation of the digital signature if enabled, and validation of the template associated with the excerpt type. If these validations fail, an exception is thrown. If all input data is correct, a new excerpt is created and its ID is returned in the response.",
@@ -157,6 +288,24 @@ public class ExcerptController {
               description = "The UUID of the excerpt to retrieve",
               required = true,
               schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "Range",
+              description = "Single byte range of the excerpt file to retrieve",
+              schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "If-None-Match",
+              description = "ETag of the excerpt file already known to the client",
+              schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "If-Range",
+              description = "ETag the requested range is valid for",
+              schema = @Schema(type = "string")
           )
       },
       responses = {
@@ -165,6 +314,19 @@ public class ExcerptController {
               description = "OK. Excerpt file successfully retrieved.",
               content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
           ),
+          @ApiResponse(
+              responseCode = "302",
+              description = "Found. Redirect to a short-lived presigned URL of the excerpt file, if redirect mode is enabled."
+          ),
+          @ApiResponse(
+              responseCode = "206",
+              description = "Partial Content. Requested range of the excerpt file successfully retrieved.",
+              content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+          ),
+          @ApiResponse(
+              responseCode = "304",
+              description = "Not Modified. Excerpt file matches the ETag known to the client."
+          ),
           @ApiResponse(
               responseCode = "400",
               description = "Bad Request. Invalid request parameters or data.",
@@ -177,6 +339,16 @@ public class ExcerptController {
               content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                   schema = @Schema(implementation = DetailedErrorResponse.class))
           ),
+          @ApiResponse(
+              responseCode = "416",
+              description = "Range Not Satisfiable. Requested range is outside of the excerpt file."
+          ),
+          @ApiResponse(
+              responseCode = "503",
+              description = "Service Unavailable. Too many concurrent excerpt downloads, retry later.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
           @ApiResponse(
               responseCode = "500",
               description = "Internal Server Error. Error occurred while retrieving the excerpt.",
@@ -187,23 +359,202 @@ public class ExcerptController {
   )
   @AuditableController(action = "RETRIEVE EXCERPT CALL")
   @GetMapping("/{id}")
-  public ResponseEntity<Resource> retrieve(
-      @PathVariable("id") UUID id, @HttpSecurityContext SecurityContext securityContext) {
+  public ResponseEntity<ResponseBodyEmitter> retrieve(
+      @PathVariable("id") UUID id, @HttpSecurityContext SecurityContext securityContext,
+      @Parameter(hidden = true) @RequestHeader HttpHeaders headers, HttpServletRequest request) {
     log.info("Excerpt retrieval called");
 
-    var excerpt = excerptRetrievingService.getExcerpt(id, securityContext);
+    if (isRedirectToPresignedUrl) {
+      var excerptUrl = excerptRetrievingService.getExcerptUrl(id, securityContext);
+      return ResponseEntity.status(HttpStatus.FOUND)
+          .location(URI.create(excerptUrl.getUrl()))
+          .build();
+    }
 
-    return ResponseEntity.ok()
+    if (headers.getFirst(HttpHeaders.RANGE) == null
+        && headers.getFirst(HttpHeaders.IF_NONE_MATCH) == null) {
+      return wholeExcerpt(id, excerptRetrievingService.getExcerpt(id, securityContext), request);
+    }
+
+    var excerpt = excerptRetrievingService.getExcerptMetadata(id, securityContext);
+    if (matchesETag(headers.getIfNoneMatch(), excerpt.getETag())) {
+      excerpt.release();
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(excerpt.getETag()).build();
+    }
+
+    var contentLength = excerpt.getContentLength();
+    List<HttpRange> ranges;
+    try {
+      ranges = headers.getRange();
+    } catch (IllegalArgumentException e) {
+      return rangeNotSatisfiable(excerpt);
+    }
+    var ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+    if (ranges.size() != 1 || (ifRange != null && !ifRange.equals(excerpt.getETag()))) {
+      return wholeExcerpt(id, excerpt, request);
+    }
+
+    long start;
+    long end;
+    try {
+      start = ranges.get(0).getRangeStart(contentLength);
+      end = ranges.get(0).getRangeEnd(contentLength);
+    } catch (IllegalArgumentException e) {
+      return rangeNotSatisfiable(excerpt);
+    }
+    return excerptRange(id, excerpt, start, end, request);
+  }
+
+  private ResponseEntity<ResponseBodyEmitter> wholeExcerpt(UUID id, ExcerptFile excerpt,
+      HttpServletRequest request) {
+    var response = excerptResponse(HttpStatus.OK, id, excerpt)
+        .contentLength(excerpt.getContentLength());
+    if (excerpt.getFile() == null) {
+      var content = excerpt.getContent() != null
+          ? excerpt.getContent() : excerptRetrievingService.getExcerptContent(excerpt);
+      return response.body(excerptDownloadStreamer.stream(request, content));
+    }
+
+    excerptRetrievingService.recordServedFromCache(excerpt.getContentLength());
+    if (sendFile(request, excerpt, 0, excerpt.getContentLength())) {
+      return response.build();
+    }
+    return response.body(excerptDownloadStreamer.stream(request, excerpt.getFile(), 0,
+        excerpt.getContentLength(), excerpt::release));
+  }
+
+  private ResponseEntity<ResponseBodyEmitter> excerptRange(UUID id, ExcerptFile excerpt,
+      long start, long end, HttpServletRequest request) {
+    var length = end - start + 1;
+    var response = excerptResponse(HttpStatus.PARTIAL_CONTENT, id, excerpt);
+    if (excerpt.getFile() == null) {
+      return contentRange(response, start, end, excerpt.getContentLength())
+          .body(excerptDownloadStreamer.stream(request,
+              excerptRetrievingService.getExcerptContent(excerpt, start, end)));
+    }
+
+    excerptRetrievingService.recordServedFromCache(length);
+    if (sendFile(request, excerpt, start, length)) {
+      return contentRange(response, start, end, excerpt.getContentLength()).build();
+    }
+    return contentRange(response, start, end, excerpt.getContentLength())
+        .body(excerptDownloadStreamer.stream(request, excerpt.getFile(), start, length,
+            excerpt::release));
+  }
+
+  private ResponseEntity.BodyBuilder contentRange(ResponseEntity.BodyBuilder response, long start,
+      long end, long contentLength) {
+    return response
+        .contentLength(end - start + 1)
+        .header(HttpHeaders.CONTENT_RANGE,
+            String.format(CONTENT_RANGE_HEADER_VALUE, start, end, contentLength));
+  }
+
+  private boolean sendFile(HttpServletRequest request, ExcerptFile excerpt, long start,
+      long length) {
+    if (!Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+      return false;
+    }
+    request.setAttribute(Globals.SENDFILE_FILENAME_ATTR,
+        excerpt.getFile().toAbsolutePath().toString());
+    request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+    request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, start + length);
+    // Tomcat opens the file only after the request has been processed, and an opened file
+    // survives its deletion, so the cache entry just has to outlive that short window
+    CompletableFuture.delayedExecutor(SENDFILE_RELEASE_DELAY.toMillis(), TimeUnit.MILLISECONDS)
+        .execute(excerpt::release);
+    return true;
+  }
+
+  private ResponseEntity.BodyBuilder excerptResponse(HttpStatus status, UUID id,
+      ExcerptFile excerpt) {
+    return ResponseEntity.status(status)
         .contentType(MediaType.APPLICATION_OCTET_STREAM)
-        .contentLength(excerpt.getCephObject().getMetadata().getContentLength())
+        .eTag(excerpt.getETag())
+        .header(HttpHeaders.ACCEPT_RANGES, BYTES_RANGE_UNIT)
         .header(CONTENT_DISPOSITION_HEADER_NAME,
-            String.format(ATTACHMENT_HEADER_VALUE, id.toString(), excerpt.getExcerptType()))
-        .body(new InputStreamResource(excerpt.getCephObject().getContent()));
+            String.format(ATTACHMENT_HEADER_VALUE, id.toString(), excerpt.getExcerptType()));
+  }
+
+  private ResponseEntity<ResponseBodyEmitter> rangeNotSatisfiable(ExcerptFile excerpt) {
+    excerpt.release();
+    var contentLength = excerpt.getContentLength();
+    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+        .header(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " */" + contentLength)
+        .build();
+  }
+
+  private boolean matchesETag(List<String> ifNoneMatch, String eTag) {
+    return ifNoneMatch.stream()
+        .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+        .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+  }
+
+  @Operation(
+      summary = "Get a presigned URL of an excerpt file",
+      description = "### Endpoint purpose: \n This endpoint is used for getting a short-lived URL the generated excerpt file can be downloaded from directly, without passing its content through the service. Returns the URL and its expiration time as a JSON object.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
+      parameters = {
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "X-Access-Token",
+              description = "Token used for endpoint security",
+              required = true,
+              schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.PATH,
+              name = "excerptId",
+              description = "The UUID of the excerpt to retrieve",
+              required = true,
+              schema = @Schema(type = "string")
+          )
+      },
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "OK. Excerpt file URL successfully generated.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = ExcerptUrl.class),
+                  examples = {
+                      @ExampleObject(value = "{\n" +
+                          "  \"url\": \"<URL>\",\n" +
+                          "  \"expiresAt\": \"2023-01-01T00:05:00Z\"\n" +
+                          "}"
+                      )
+                  })
+          ),
+          @ApiResponse(
+              responseCode = "401",
+              description = "Unauthorized. Missing or invalid access token.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Not Found. Excerpt record or file not found.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Internal Server Error. Error occurred while generating the excerpt file URL.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          )
+      }
+  )
+  @AuditableController(action = "RETRIEVE EXCERPT URL CALL")
+  @GetMapping("/{id}/url")
+  public ResponseEntity<ExcerptUrl> retrieveUrl(
+      @PathVariable("id") UUID id, @HttpSecurityContext SecurityContext securityContext) {
+    log.info("Excerpt URL retrieval called");
+    return ResponseEntity.ok()
+        .body(excerptRetrievingService.getExcerptUrl(id, securityContext));
   }
 
   @Operation(
       summary = "Get the status of an excerpt generation",
-      description = "### Endpoint purpose: \n This endpoint is used for getting the status of an excerpt generation based on the provided excerpt ID. Returns the status of the generation as a JSON object.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
+      description = "### Endpoint purpose: \n This endpoint is used for getting the status of an excerpt generation based on the provided excerpt ID. Returns the status of the generation as a JSON object. If _waitSeconds_ is set and the excerpt is still in progress, the response is delayed until the generation finishes or the wait time elapses, so clients do not have to poll frequently.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
       parameters = {
           @Parameter(
               in = ParameterIn.HEADER,
@@ -218,6 +569,12 @@ public class ExcerptController {
               description = "The UUID of the excerpt to retrieve",
               required = true,
               schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.QUERY,
+              name = "waitSeconds",
+              description = "Wait up to the given number of seconds for the excerpt generation to finish before returning the status",
+              schema = @Schema(type = "integer")
           )
       },
       responses = {
@@ -267,4 +624,192 @@ public class ExcerptController {
     var status = excerptStatusCheckService.getStatus(id);
     return ResponseEntity.ok().body(status);
   }
+
+  @Operation(hidden = true)
+  @GetMapping(value = "/{id}/status", params = "waitSeconds")
+  public DeferredResult<StatusDto> awaitStatus(@PathVariable("id") UUID id,
+      @RequestParam("waitSeconds") long waitSeconds) {
+    log.info("Excerpt status long polling called");
+
+    return excerptStatusCheckService.awaitStatus(id, Duration.ofSeconds(waitSeconds));
+  }
+
+  @Operation(
+      summary = "Get the statuses of several excerpt generations",
+      description = "### Endpoint purpose: \n This endpoint is used for getting the statuses of up to " + ExcerptStatusBatchRequest.MAX_SIZE + " excerpt generations in one call. Returns the statuses keyed by excerpt ID, and lists the IDs no excerpt was found for.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
+      parameters = @Parameter(
+          in = ParameterIn.HEADER,
+          name = "X-Access-Token",
+          description = "Token used for endpoint security",
+          required = true,
+          schema = @Schema(type = "string")
+      ),
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+              schema = @Schema(implementation = ExcerptStatusBatchRequest.class),
+              examples = {
+                  @ExampleObject(value = "{\n" +
+                      "  \"excerptIds\": [\"<UUID>\", \"<UUID>\"]\n" +
+                      "}"
+                  )
+              })
+      ),
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "OK. Excerpt generation statuses successfully retrieved.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = ExcerptStatusBatchResult.class),
+                  examples = {
+                      @ExampleObject(value = "{\n" +
+                          "  \"statuses\": {\n" +
+                          "    \"<UUID>\": {\n" +
+                          "      \"status\": \"COMPLETED\",\n" +
+                          "      \"statusDetails\": null\n" +
+                          "    }\n" +
+                          "  },\n" +
+                          "  \"notFound\": [\"<UUID>\"]\n" +
+                          "}"
+                      )
+                  })
+          ),
+          @ApiResponse(
+              responseCode = "401",
+              description = "Unauthorized. Missing or invalid access token.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "422",
+              description = "Unprocessable Entity. Empty or too large list of excerpt IDs.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "500",
+              description = "Internal Server Error. Error occurred while retrieving the generation statuses.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          )
+      }
+  )
+  @PostMapping("/status")
+  public ResponseEntity<ExcerptStatusBatchResult> statuses(
+      @Valid @RequestBody ExcerptStatusBatchRequest excerptStatusBatchRequest) {
+    log.info("Excerpt batch status retrieval called");
+
+    return ResponseEntity.ok()
+        .body(excerptStatusCheckService.getStatuses(excerptStatusBatchRequest.getExcerptIds()));
+  }
+
+  @Operation(
+      summary = "Subscribe to status changes of an excerpt generation",
+      description = "### Endpoint purpose: \n This endpoint opens a Server-Sent Events stream for the provided excerpt ID. The current status is sent as a _status_ event right away, then another _status_ event is sent when the generation moves to _COMPLETED_ or _FAILED_, after which the stream is closed.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
+      parameters = {
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "X-Access-Token",
+              description = "Token used for endpoint security",
+              required = true,
+              schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.PATH,
+              name = "excerptId",
+              description = "The UUID of the excerpt to subscribe to",
+              required = true,
+              schema = @Schema(type = "string")
+          )
+      },
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "OK. Stream of excerpt generation status events.",
+              content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                  schema = @Schema(implementation = ExcerptStatusEvent.class),
+                  examples = {
+                      @ExampleObject(value = "event:status\n" +
+                          "data:{\"excerptIdentifier\":\"<UUID>\",\"status\":\"COMPLETED\",\"statusDetails\":null}\n"
+                      )
+                  })
+          ),
+          @ApiResponse(
+              responseCode = "401",
+              description = "Unauthorized. Missing or invalid access token.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Not Found. No excerpt found for the provided excerpt ID(s).",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+      }
+  )
+  @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter statusEvents(@PathVariable("id") UUID id) {
+    log.info("Excerpt status events called");
+
+    return excerptStatusCheckService.streamStatus(List.of(id));
+  }
+
+  @Operation(
+      summary = "Subscribe to status changes of several excerpt generations",
+      description = "### Endpoint purpose: \n This endpoint opens one Server-Sent Events stream for up to " + MAX_SUBSCRIBED_EXCERPTS + " excerpt IDs. The current status of every excerpt is sent as a _status_ event right away, then a _status_ event is sent for each excerpt that moves to _COMPLETED_ or _FAILED_. The stream is closed when all excerpts are finished.\n ### Authorization:\n This endpoint requires valid user authentication. To access this endpoint, the request must include a valid access token in the _X-Access-Token_ header, otherwise, the API will return a _401 Unauthorized_ status code",
+      parameters = {
+          @Parameter(
+              in = ParameterIn.HEADER,
+              name = "X-Access-Token",
+              description = "Token used for endpoint security",
+              required = true,
+              schema = @Schema(type = "string")
+          ),
+          @Parameter(
+              in = ParameterIn.QUERY,
+              name = "ids",
+              description = "Comma-separated UUIDs of the excerpts to subscribe to",
+              required = true,
+              schema = @Schema(type = "string")
+          )
+      },
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "OK. Stream of excerpt generation status events.",
+              content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                  schema = @Schema(implementation = ExcerptStatusEvent.class),
+                  examples = {
+                      @ExampleObject(value = "event:status\n" +
+                          "data:{\"excerptIdentifier\":\"<UUID>\",\"status\":\"COMPLETED\",\"statusDetails\":null}\n"
+                      )
+                  })
+          ),
+          @ApiResponse(
+              responseCode = "401",
+              description = "Unauthorized. Missing or invalid access token.",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "404",
+              description = "Not Found. No excerpt found for the provided excerpt ID(s).",
+              content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                  schema = @Schema(implementation = DetailedErrorResponse.class))
+          ),
+          @ApiResponse(
+              responseCode = "422",
+              description = "Unprocessable Entity. No excerpt IDs or too many excerpt IDs requested."
+          )
+      }
+  )
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> statusEventsBatch(@RequestParam("ids") Set<UUID> ids) {
+    log.info("Excerpt batch status events called");
+
+    if (ids.isEmpty() || ids.size() > MAX_SUBSCRIBED_EXCERPTS) {
+      return ResponseEntity.unprocessableEntity().build();
+    }
+    return ResponseEntity.ok(excerptStatusCheckService.streamStatus(ids));
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "excerpt_outbox")
+public class ExcerptOutboxEvent extends AssignedIdEntity {
+
+  @Id
+  private UUID id;
+
+  @Column(name = "record_id", nullable = false)
+  private UUID recordId;
+
+  @Column(name = "topic")
+  private String topic;
+
+  @Column(name = "payload", nullable = false, columnDefinition = "text")
+  private String payload;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "leased_until")
+  private LocalDateTime leasedUntil;
+
+  @Override
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public UUID getRecordId() {
+    return recordId;
+  }
+
+  public void setRecordId(UUID recordId) {
+    this.recordId = recordId;
+  }
+
+  public String getTopic() {
+    return topic;
+  }
+
+  public void setTopic(String topic) {
+    this.topic = topic;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public void setPayload(String payload) {
+    this.payload = payload;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getLeasedUntil() {
+    return leasedUntil;
+  }
+
+  public void setLeasedUntil(LocalDateTime leasedUntil) {
+    this.leasedUntil = leasedUntil;
+  }
+}
@@ -68,6 +68,8 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
   private static final String METHOD_ARGUMENT_TYPE_MISMATCH = "METHOD_ARGUMENT_TYPE_MISMATCH";
   private static final String AUTHENTICATION_FAILED = "AUTHENTICATION_FAILED";
   private static final String SIGNING_NOT_ALLOWED = "SIGNING_NOT_ALLOWED";
+  private static final String TOO_MANY_DOWNLOADS = "TOO_MANY_DOWNLOADS";
+  private static final String IDEMPOTENCY_KEY_REUSED = "IDEMPOTENCY_KEY_REUSED";
 
   @AuditableException
   @ExceptionHandler(CephCommunicationException.class)
@@ -162,6 +164,25 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
         .body(newDetailedResponse(NOT_FOUND));
   }
 
+  @AuditableException
+  @ExceptionHandler(DownloadLimitExceededException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleDownloadLimitExceededException(
+      DownloadLimitExceededException exception) {
+    log.warn(exception.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(newDetailedResponse(TOO_MANY_DOWNLOADS));
+  }
+
+  @AuditableException
+  @ExceptionHandler(IdempotencyKeyReusedException.class)
+  public ResponseEntity<DetailedErrorResponse<Void>> handleIdempotencyKeyReusedException(
+      IdempotencyKeyReusedException exception) {
+    log.warn(exception.getMessage());
+    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+        .body(newDetailedResponse(IDEMPOTENCY_KEY_REUSED));
+  }
+
   @AuditableException
   @ExceptionHandler(InvalidKeycloakIdException.class)
   public ResponseEntity<DetailedErrorResponse<Void>> handleInvalidKeycloakIdException(
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.Objects;
+import java.util.UUID;
+
+@JsonInclude(Include.NON_NULL)
+public class ExcerptBatchItemResult {
+
+  private final UUID excerptIdentifier;
+  private final String code;
+  private final String details;
+
+  private ExcerptBatchItemResult(UUID excerptIdentifier, String code, String details) {
+    this.excerptIdentifier = excerptIdentifier;
+    this.code = code;
+    this.details = details;
+  }
+
+  public static ExcerptBatchItemResult success(UUID excerptIdentifier) {
+    return new ExcerptBatchItemResult(excerptIdentifier, null, null);
+  }
+
+  public static ExcerptBatchItemResult failure(String code, String details) {
+    return new ExcerptBatchItemResult(null, code, details);
+  }
+
+  public UUID getExcerptIdentifier() {
+    return excerptIdentifier;
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  public String getDetails() {
+    return details;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ExcerptBatchItemResult that = (ExcerptBatchItemResult) o;
+    return Objects.equals(excerptIdentifier, that.excerptIdentifier)
+        && Objects.equals(code, that.code) && Objects.equals(details, that.details);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(excerptIdentifier, code, details);
+  }
+}
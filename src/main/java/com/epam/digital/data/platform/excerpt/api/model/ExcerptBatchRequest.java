@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.model;
+
+import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+public class ExcerptBatchRequest {
+
+  public static final int MAX_SIZE = 100;
+
+  @Valid
+  @NotEmpty
+  @Size(max = MAX_SIZE)
+  private List<ExcerptEventDto> excerpts;
+
+  public ExcerptBatchRequest() {
+  }
+
+  public ExcerptBatchRequest(List<ExcerptEventDto> excerpts) {
+    this.excerpts = excerpts;
+  }
+
+  public List<ExcerptEventDto> getExcerpts() {
+    return excerpts;
+  }
+
+  public void setExcerpts(List<ExcerptEventDto> excerpts) {
+    this.excerpts = excerpts;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.model;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ExcerptFile {
+
+  private final String excerptKey;
+  private final String excerptType;
+  private final long contentLength;
+  private final String eTag;
+  private final InputStream content;
+  private final Path file;
+  private final Runnable release;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  public ExcerptFile(String excerptKey, String excerptType, long contentLength, String eTag,
+      InputStream content) {
+    this(excerptKey, excerptType, contentLength, eTag, content, null);
+  }
+
+  public ExcerptFile(String excerptKey, String excerptType, long contentLength, String eTag,
+      InputStream content, Path file) {
+    this(excerptKey, excerptType, contentLength, eTag, content, file, () -> {
+    });
+  }
+
+  public ExcerptFile(String excerptKey, String excerptType, long contentLength, String eTag,
+      InputStream content, Path file, Runnable release) {
+    this.excerptKey = excerptKey;
+    this.excerptType = excerptType;
+    this.contentLength = contentLength;
+    this.eTag = eTag;
+    this.content = content;
+    this.file = file;
+    this.release = release;
+  }
+
+  public String getExcerptKey() {
+    return excerptKey;
+  }
+
+  public String getExcerptType() {
+    return excerptType;
+  }
+
+  public long getContentLength() {
+    return contentLength;
+  }
+
+  public String getETag() {
+    return eTag;
+  }
+
+  public InputStream getContent() {
+    return content;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Lets a cached {@link #getFile() file} be deleted again once it is served; safe to call more
+   * than once.
+   */
+  public void release() {
+    if (released.compareAndSet(false, true)) {
+      release.run();
+    }
+  }
+}
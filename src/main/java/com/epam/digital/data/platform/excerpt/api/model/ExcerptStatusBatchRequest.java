@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.model;
+
+import java.util.List;
+import java.util.UUID;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class ExcerptStatusBatchRequest {
+
+  public static final int MAX_SIZE = 100;
+
+  @NotEmpty
+  @Size(max = MAX_SIZE)
+  private List<@NotNull UUID> excerptIds;
+
+  public ExcerptStatusBatchRequest() {
+  }
+
+  public ExcerptStatusBatchRequest(List<UUID> excerptIds) {
+    this.excerptIds = excerptIds;
+  }
+
+  public List<UUID> getExcerptIds() {
+    return excerptIds;
+  }
+
+  public void setExcerptIds(List<UUID> excerptIds) {
+    this.excerptIds = excerptIds;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.model;
+
+import com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus;
+import java.util.Objects;
+import java.util.UUID;
+
+public class ExcerptStatusEvent {
+
+  private final UUID excerptIdentifier;
+  private final ExcerptProcessingStatus status;
+  private final String statusDetails;
+
+  public ExcerptStatusEvent(UUID excerptIdentifier, ExcerptProcessingStatus status,
+      String statusDetails) {
+    this.excerptIdentifier = excerptIdentifier;
+    this.status = status;
+    this.statusDetails = statusDetails;
+  }
+
+  public UUID getExcerptIdentifier() {
+    return excerptIdentifier;
+  }
+
+  public ExcerptProcessingStatus getStatus() {
+    return status;
+  }
+
+  public String getStatusDetails() {
+    return statusDetails;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ExcerptStatusEvent that = (ExcerptStatusEvent) o;
+    return Objects.equals(excerptIdentifier, that.excerptIdentifier)
+        && status == that.status
+        && Objects.equals(statusDetails, that.statusDetails);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(excerptIdentifier, status, statusDetails);
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 EPAM Systems.
+ * Copyright 2023 EPAM Systems.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,26 +16,25 @@
 
 package com.epam.digital.data.platform.excerpt.api.model;
 
-import com.epam.digital.data.platform.integration.ceph.model.CephObject;
+import java.time.Instant;
 import java.util.Objects;
 
-public class CephObjectWrapper {
+public class ExcerptUrl {
 
-  private final CephObject cephObject;
-  private final String excerptType;
+  private final String url;
+  private final Instant expiresAt;
 
-  public CephObjectWrapper(
-      CephObject cephObject, String excerptType) {
-    this.cephObject = cephObject;
-    this.excerptType = excerptType;
+  public ExcerptUrl(String url, Instant expiresAt) {
+    this.url = url;
+    this.expiresAt = expiresAt;
   }
 
-  public CephObject getCephObject() {
-    return cephObject;
+  public String getUrl() {
+    return url;
   }
 
-  public String getExcerptType() {
-    return excerptType;
+  public Instant getExpiresAt() {
+    return expiresAt;
   }
 
   @Override
@@ -46,12 +45,12 @@ public class CephObjectWrapper {
     if (o == null || getClass() != o.getClass()) {
       return false;
     }
-    CephObjectWrapper that = (CephObjectWrapper) o;
-    return cephObject.equals(that.cephObject) && excerptType.equals(that.excerptType);
+    ExcerptUrl that = (ExcerptUrl) o;
+    return Objects.equals(url, that.url) && Objects.equals(expiresAt, that.expiresAt);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(cephObject, excerptType);
+    return Objects.hash(url, expiresAt);
   }
 }
@@ -22,6 +22,7 @@ public class RequestContext {
   private String sourceApplication;
   private String sourceBusinessProcess;
   private String sourceBusinessActivity;
+  private String idempotencyKey;
 
   public String getSourceSystem() {
     return sourceSystem;
@@ -54,4 +55,12 @@ public class RequestContext {
   public void setSourceBusinessActivity(String sourceBusinessActivity) {
     this.sourceBusinessActivity = sourceBusinessActivity;
   }
+
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  public void setIdempotencyKey(String idempotencyKey) {
+    this.idempotencyKey = idempotencyKey;
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.repository;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptContentHash;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface ExcerptContentHashRepository extends CrudRepository<ExcerptContentHash, UUID> {
+
+  @Query("select r from ExcerptRecord r, ExcerptContentHash h "
+      + "where h.recordId = r.id and h.contentHash = :contentHash and h.createdAt > :since "
+      + "and r.status = :status and r.excerptKey is not null "
+      + "order by h.createdAt desc")
+  List<ExcerptRecord> findRecentRecords(@Param("contentHash") String contentHash,
+      @Param("since") LocalDateTime since, @Param("status") ExcerptProcessingStatus status,
+      Pageable pageable);
+
+  @Modifying
+  @Query("delete from ExcerptContentHash h where h.createdAt < :threshold")
+  int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.repository;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptIdempotencyKey;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ExcerptIdempotencyKeyRepository extends JpaRepository<ExcerptIdempotencyKey, UUID> {
+
+  Optional<ExcerptIdempotencyKey> findByKeycloakIdAndIdempotencyKey(String keycloakId,
+      String idempotencyKey);
+
+  @Modifying
+  @Query("delete from ExcerptIdempotencyKey k where k.createdAt < :threshold")
+  int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+
+  /**
+   * Stores the key in a single statement, taking over a row with the same key only when it has
+   * expired. Returns 0 when the key is held by a live row.
+   */
+  @Modifying
+  @Query(value = "insert into excerpt_idempotency_key"
+      + " (id, keycloak_id, idempotency_key, request_hash, record_id, created_at)"
+      + " values (:id, :keycloakId, :idempotencyKey, :requestHash, :recordId, :createdAt)"
+      + " on conflict (keycloak_id, idempotency_key) do update"
+      + " set id = excluded.id, request_hash = excluded.request_hash,"
+      + " record_id = excluded.record_id, created_at = excluded.created_at"
+      + " where excerpt_idempotency_key.created_at < :threshold",
+      nativeQuery = true)
+  int insertOrReplaceExpired(@Param("id") UUID id,
+      @Param("keycloakId") String keycloakId,
+      @Param("idempotencyKey") String idempotencyKey,
+      @Param("requestHash") String requestHash,
+      @Param("recordId") UUID recordId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("threshold") LocalDateTime threshold);
+}
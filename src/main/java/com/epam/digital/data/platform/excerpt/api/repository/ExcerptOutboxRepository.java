@@ -0,0 +1,34 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.repository;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptOutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface ExcerptOutboxRepository extends CrudRepository<ExcerptOutboxEvent, UUID> {
+
+  @Query(value = "select * from excerpt_outbox "
+      + "where leased_until is null or leased_until < :now "
+      + "order by created_at limit :limit for update skip locked", nativeQuery = true)
+  List<ExcerptOutboxEvent> findNextBatchForUpdate(@Param("now") LocalDateTime now,
+      @Param("limit") int limit);
+}
@@ -17,9 +17,21 @@
 package com.epam.digital.data.platform.excerpt.api.repository;
 
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface RecordRepository extends CrudRepository<ExcerptRecord, UUID> {
 
+  @Query("select r.id as id, r.status as status, r.statusDetails as statusDetails "
+      + "from ExcerptRecord r where r.id = :id")
+  Optional<ExcerptStatusView> findStatusById(@Param("id") UUID id);
+
+  @Query("select r.id as id, r.status as status, r.statusDetails as statusDetails "
+      + "from ExcerptRecord r where r.id in :ids")
+  List<ExcerptStatusView> findStatusesByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class CephSignatureCopier {
+
+  private final Logger log = LoggerFactory.getLogger(CephSignatureCopier.class);
+
+  private final AmazonS3 s3Client;
+  private final String sourceBucket;
+  private final String targetBucket;
+
+  public CephSignatureCopier(AmazonS3 s3Client, String sourceBucket, String targetBucket) {
+    this.s3Client = s3Client;
+    this.sourceBucket = sourceBucket;
+    this.targetBucket = targetBucket;
+  }
+
+  public boolean copy(String key) {
+    try {
+      s3Client.copyObject(sourceBucket, key, targetBucket, key);
+      return true;
+    } catch (SdkClientException e) {
+      log.warn("Server-side copy of signature {} failed, falling back to read and write: {}", key,
+          e.getMessage());
+      return false;
+    }
+  }
+}
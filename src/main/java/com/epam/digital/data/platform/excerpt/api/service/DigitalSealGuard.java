@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.dso.client.exception.BadRequestException;
+import com.epam.digital.data.platform.excerpt.api.exception.KepServiceInternalServerErrorException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DigitalSealGuard {
+
+  enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final Logger log = LoggerFactory.getLogger(DigitalSealGuard.class);
+
+  private final Clock clock;
+  private final Semaphore bulkhead;
+  private final long maxWaitMillis;
+  private final int failureRateThreshold;
+  private final int minimumCalls;
+  private final long slowCallThresholdNanos;
+  private final Duration openDuration;
+
+  private final boolean[] outcomes;
+  private int recordedCalls;
+  private int failedCalls;
+  private int nextOutcome;
+  private State state = State.CLOSED;
+  private long openUntil;
+  // bumped on every state change so that results of calls let through earlier are ignored
+  private long generation;
+
+  private final Counter bulkheadRejections;
+  private final Counter circuitRejections;
+
+  public DigitalSealGuard(
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${excerpt.dso.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+      @Value("${excerpt.dso.bulkhead.max-wait:2s}") Duration maxWait,
+      @Value("${excerpt.dso.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+      @Value("${excerpt.dso.circuit-breaker.minimum-calls:10}") int minimumCalls,
+      @Value("${excerpt.dso.circuit-breaker.window-size:20}") int windowSize,
+      @Value("${excerpt.dso.circuit-breaker.slow-call-threshold:5s}") Duration slowCallThreshold,
+      @Value("${excerpt.dso.circuit-breaker.open-duration:30s}") Duration openDuration) {
+    this.clock = clock;
+    this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+    this.maxWaitMillis = maxWait.toMillis();
+    this.failureRateThreshold = failureRateThreshold;
+    this.minimumCalls = minimumCalls;
+    this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+    this.openDuration = openDuration;
+    this.outcomes = new boolean[windowSize];
+
+    Gauge.builder("excerpt.dso.circuit.state", this, guard -> guard.getState().ordinal())
+        .description("0 - closed, 1 - open, 2 - half open")
+        .register(meterRegistry);
+    Gauge.builder("excerpt.dso.bulkhead.active", bulkhead,
+            semaphore -> maxConcurrentCalls - semaphore.availablePermits())
+        .register(meterRegistry);
+    Gauge.builder("excerpt.dso.bulkhead.waiting", bulkhead, Semaphore::getQueueLength)
+        .register(meterRegistry);
+    this.bulkheadRejections = meterRegistry.counter("excerpt.dso.rejected", "reason", "bulkhead");
+    this.circuitRejections = meterRegistry.counter("excerpt.dso.rejected", "reason", "circuit");
+  }
+
+  public <T> T call(Supplier<T> call) {
+    acquire();
+    try {
+      var callGeneration = tryPass();
+      if (callGeneration < 0) {
+        circuitRejections.increment();
+        throw new KepServiceInternalServerErrorException(
+            "Digital signature service is unavailable, circuit is open");
+      }
+      var start = System.nanoTime();
+      var failed = true;
+      try {
+        var result = call.get();
+        failed = false;
+        return result;
+      } catch (BadRequestException e) {
+        failed = false;
+        throw e;
+      } finally {
+        onResult(callGeneration, failed || System.nanoTime() - start > slowCallThresholdNanos);
+      }
+    } finally {
+      bulkhead.release();
+    }
+  }
+
+  synchronized State getState() {
+    return state;
+  }
+
+  private void acquire() {
+    try {
+      if (bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    bulkheadRejections.increment();
+    throw new KepServiceInternalServerErrorException(
+        "Too many concurrent calls to digital signature service");
+  }
+
+  /**
+   * Returns the generation the call is admitted in, or -1 if the circuit rejects it. Only the call
+   * that moves the circuit to half open is admitted until its result is known.
+   */
+  private synchronized long tryPass() {
+    if (state == State.OPEN) {
+      if (clock.millis() < openUntil) {
+        return -1;
+      }
+      log.info("Digital signature service circuit is half open, sending a trial call");
+      state = State.HALF_OPEN;
+      generation++;
+      return generation;
+    }
+    return state == State.CLOSED ? generation : -1;
+  }
+
+  private synchronized void onResult(long callGeneration, boolean failed) {
+    if (callGeneration != generation) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      if (failed) {
+        open();
+      } else {
+        close();
+      }
+      return;
+    }
+
+    if (recordedCalls == outcomes.length) {
+      if (outcomes[nextOutcome]) {
+        failedCalls--;
+      }
+    } else {
+      recordedCalls++;
+    }
+    outcomes[nextOutcome] = failed;
+    if (failed) {
+      failedCalls++;
+    }
+    nextOutcome = (nextOutcome + 1) % outcomes.length;
+
+    if (recordedCalls >= minimumCalls
+        && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+      open();
+    }
+  }
+
+  private void open() {
+    log.warn("Digital signature service circuit is open for {}", openDuration);
+    state = State.OPEN;
+    generation++;
+    openUntil = clock.millis() + openDuration.toMillis();
+  }
+
+  private void close() {
+    log.info("Digital signature service circuit is closed");
+    state = State.CLOSED;
+    generation++;
+    recordedCalls = 0;
+    failedCalls = 0;
+    nextOutcome = 0;
+  }
+}
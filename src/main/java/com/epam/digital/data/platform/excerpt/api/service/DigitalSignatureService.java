@@ -22,24 +22,36 @@ import com.epam.digital.data.platform.dso.client.DigitalSealRestClient;
 import com.epam.digital.data.platform.dso.client.exception.BadRequestException;
 import com.epam.digital.data.platform.dso.client.exception.InternalServerErrorException;
 import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureException;
+import com.epam.digital.data.platform.excerpt.api.config.SignedBodyCachingFilter;
 import com.epam.digital.data.platform.excerpt.api.exception.DigitalSignatureNotFoundException;
 import com.epam.digital.data.platform.excerpt.api.exception.KepServiceBadRequestException;
 import com.epam.digital.data.platform.excerpt.api.exception.KepServiceInternalServerErrorException;
-import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
 import com.epam.digital.data.platform.storage.form.dto.FormDataDto;
 import com.epam.digital.data.platform.storage.form.service.FormDataStorageService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 @RequiredArgsConstructor
 public class DigitalSignatureService {
 
   private static final String SIGNATURE = "signature";
+  private static final String REMOTE_VERIFY_TIMER = "excerpt.signature.verify.remote";
+  private static final String STORAGE_READ_TIMER = "excerpt.signature.storage.read";
 
   private final Logger log = LoggerFactory.getLogger(DigitalSignatureService.class);
 
@@ -47,47 +59,124 @@ public class DigitalSignatureService {
   private final FormDataStorageService datafactoryExcerptDataStorageService;
   private final DigitalSealRestClient digitalSealRestClient;
   private final ObjectMapper objectMapper;
+  private final SignatureVerificationCache signatureVerificationCache;
+  private final MeterRegistry meterRegistry;
+  private final Optional<CephSignatureCopier> cephSignatureCopier;
+  private final ThreadPoolTaskExecutor signatureExecutor;
+  private final DigitalSealGuard digitalSealGuard;
 
-  public void checkSignature(ExcerptEventDto data, String key) {
+  public void checkAndSaveSignatures(Object data, String signatureKey,
+      String derivedSignatureKey) {
+    var dataStr = signedData(data);
+    var bundle = new SignatureBundle(this::getSignature, signatureExecutor);
+    var verification = bundle.get(derivedSignatureKey).thenAcceptAsync(
+        formDataDto -> verify(formDataDto.getSignature(), dataStr), signatureExecutor);
+    var copies = List.of(
+        copySignature(signatureKey, bundle),
+        copySignature(derivedSignatureKey, bundle));
+
+    try {
+      await(verification);
+    } catch (RuntimeException e) {
+      deleteCopiedSignatures(copies);
+      throw e;
+    }
+    copies.forEach(this::await);
+  }
+
+  private CompletableFuture<String> copySignature(String key, SignatureBundle bundle) {
+    var copied = cephSignatureCopier
+        .map(copier -> CompletableFuture.supplyAsync(() -> copier.copy(key), signatureExecutor))
+        .orElseGet(() -> CompletableFuture.completedFuture(false));
+    return copied.thenCompose(done -> done
+        ? CompletableFuture.completedFuture(key)
+        : bundle.get(key).thenApplyAsync(formDataDto -> {
+          putSignature(key, formDataDto);
+          return key;
+        }, signatureExecutor));
+  }
+
+  private FormDataDto getSignature(String key) {
     log.info("Retrieve Signature from Ceph");
-    var formDataDto =
-        lowcodeFormDataStorageService
-            .getFormData(key)
-            .orElseThrow(
-                () -> new DigitalSignatureNotFoundException(
-                    "Signature does not exist in ceph bucket. Key: " + key));
-
-    String dataStr;
+    return meterRegistry.timer(STORAGE_READ_TIMER)
+        .record(() -> lowcodeFormDataStorageService.getFormData(key))
+        .orElseThrow(
+            () -> new DigitalSignatureNotFoundException(
+                "Signature does not exist in ceph bucket. Key: " + key));
+  }
+
+  private void putSignature(String key, FormDataDto formDataDto) {
+    log.info("Store Signature to Ceph");
+    datafactoryExcerptDataStorageService.putFormData(key, formDataDto);
+  }
+
+  private String signedData(Object data) {
+    var attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null) {
+      var body = attributes.getAttribute(SignedBodyCachingFilter.SIGNED_BODY_ATTRIBUTE,
+          RequestAttributes.SCOPE_REQUEST);
+      if (body != null) {
+        return (String) body;
+      }
+    }
+    return toJson(data);
+  }
+
+  private String toJson(Object data) {
     try {
-      dataStr = objectMapper.writeValueAsString(data);
+      return objectMapper.writeValueAsString(data);
     } catch (JsonProcessingException e) {
       throw new RuntimeException(e);
     }
+  }
 
-    verify(formDataDto.getSignature(), dataStr);
+  private void deleteCopiedSignatures(List<CompletableFuture<String>> copies) {
+    CompletableFuture.allOf(copies.toArray(new CompletableFuture[0]))
+        .handle((result, e) -> null)
+        .join();
+    var copiedKeys = new HashSet<String>();
+    for (CompletableFuture<String> copy : copies) {
+      if (!copy.isCompletedExceptionally()) {
+        copiedKeys.add(copy.join());
+      }
+    }
+    if (copiedKeys.isEmpty()) {
+      return;
+    }
+    try {
+      log.info("Delete copied Signatures after failed verification");
+      datafactoryExcerptDataStorageService.delete(Set.copyOf(copiedKeys));
+    } catch (RuntimeException e) {
+      log.error("Could not delete copied Signatures {}", copiedKeys, e);
+    }
   }
 
-  public FormDataDto saveSignature(String key) {
-    log.info("Store Signature to Ceph");
-    var value =
-        lowcodeFormDataStorageService
-            .getFormData(key)
-            .orElseThrow(
-                () -> new DigitalSignatureNotFoundException(
-                    "Signature does not exist in ceph bucket. Key: " + key));
-    datafactoryExcerptDataStorageService.putFormData(key, value);
-    return value;
+  private <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
   }
 
   private void verify(String signature, String data) {
+    if (signatureVerificationCache.isVerified(signature, data)) {
+      log.info("Signature already verified");
+      return;
+    }
     try {
       log.info("Verify Signature");
-      VerificationResponseDto responseDto = digitalSealRestClient.verify(
-          new VerificationRequestDto(signature, data));
+      VerificationResponseDto responseDto = digitalSealGuard.call(
+          () -> meterRegistry.timer(REMOTE_VERIFY_TIMER).record(
+              () -> digitalSealRestClient.verify(new VerificationRequestDto(signature, data))));
 
       if (!responseDto.isValid()) {
         throw new InvalidSignatureException(responseDto.getError().getMessage());
       }
+      signatureVerificationCache.markVerified(signature, data);
     } catch (BadRequestException e) {
       throw new KepServiceBadRequestException(e.getMessage());
     } catch (InternalServerErrorException e) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptContentHash;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptContentHashRepository;
+import com.epam.digital.data.platform.excerpt.api.util.HashUtils;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class ExcerptDeduplicationService {
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptDeduplicationService.class);
+
+  private final ExcerptContentHashRepository contentHashRepository;
+  private final ObjectMapper canonicalObjectMapper;
+  private final Set<String> templates;
+  private final Duration window;
+
+  public ExcerptDeduplicationService(
+      ExcerptContentHashRepository contentHashRepository,
+      ObjectMapper objectMapper,
+      @Value("${excerpt.dedup.templates:}") Set<String> templates,
+      @Value("${excerpt.dedup.window:1h}") Duration window) {
+    this.contentHashRepository = contentHashRepository;
+    this.canonicalObjectMapper = objectMapper.copy()
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    this.templates = templates;
+    this.window = window;
+  }
+
+  public boolean isEnabled(String excerptType) {
+    return templates.contains(excerptType);
+  }
+
+  public String contentHash(ExcerptEventDto excerptEventDto) {
+    var content = new LinkedHashMap<String, Object>();
+    content.put("excerptType", excerptEventDto.getExcerptType());
+    content.put("excerptInputData", excerptEventDto.getExcerptInputData());
+    content.put("requiresSystemSignature", excerptEventDto.isRequiresSystemSignature());
+    try {
+      return HashUtils.sha256Hex(canonicalObjectMapper.writeValueAsBytes(content));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  public Optional<ExcerptRecord> findCompletedRecord(String contentHash) {
+    var since = LocalDateTime.now().minus(window);
+    return contentHashRepository
+        .findRecentRecords(contentHash, since, COMPLETED, PageRequest.of(0, 1))
+        .stream()
+        .findFirst();
+  }
+
+  public void register(String contentHash, UUID recordId) {
+    var entry = new ExcerptContentHash();
+    entry.setId(UUID.randomUUID());
+    entry.setContentHash(contentHash);
+    entry.setRecordId(recordId);
+    entry.setCreatedAt(LocalDateTime.now());
+    contentHashRepository.save(entry);
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${excerpt.dedup.cleanup-interval:PT1H}")
+  public void removeExpiredHashes() {
+    var removed = contentHashRepository.deleteCreatedBefore(LocalDateTime.now().minus(window));
+    if (removed > 0) {
+      log.info("Removed {} expired excerpt content hash(es)", removed);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.excerpt.api.exception.DownloadLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Streams excerpt content on the {@code excerpt-download-*} pool instead of the MVC async executor,
+ * so that download capacity and timeout do not leak into the other async endpoints. The copy is
+ * submitted once the request has switched to async mode, and a saturated pool rejects the download
+ * right there.
+ */
+@Component
+public class ExcerptDownloadStreamer {
+
+  private static final String INTERCEPTOR_KEY = ExcerptDownloadStreamer.class.getName();
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptDownloadStreamer.class);
+
+  private final ThreadPoolTaskExecutor executor;
+  private final long timeout;
+  private final int bufferSize;
+  private final BlockingQueue<byte[]> buffers;
+  private final AtomicInteger activeDownloads = new AtomicInteger();
+
+  private final MeterRegistry meterRegistry;
+  private final Counter rejected;
+  private final Counter bytesStreamed;
+  private final Timer duration;
+
+  public ExcerptDownloadStreamer(
+      ThreadPoolTaskExecutor excerptDownloadExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.download.buffer-size:64KB}") DataSize bufferSize,
+      @Value("${excerpt.download.timeout:30m}") Duration timeout) {
+    this.executor = excerptDownloadExecutor;
+    this.timeout = timeout.toMillis();
+    this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+    this.buffers = new ArrayBlockingQueue<>(excerptDownloadExecutor.getMaxPoolSize());
+    this.meterRegistry = meterRegistry;
+
+    this.rejected = Counter.builder("excerpt.download.rejected").register(meterRegistry);
+    this.bytesStreamed = Counter.builder("excerpt.download.bytes").baseUnit("bytes")
+        .register(meterRegistry);
+    this.duration = Timer.builder("excerpt.download.duration").register(meterRegistry);
+    Gauge.builder("excerpt.download.active", activeDownloads, AtomicInteger::get)
+        .register(meterRegistry);
+  }
+
+  public ResponseBodyEmitter stream(HttpServletRequest request, InputStream content) {
+    return start(request, new Download(timeout, content, out -> {
+      try (content) {
+        copy(content, out, Long.MAX_VALUE);
+      }
+    }));
+  }
+
+  public ResponseBodyEmitter stream(HttpServletRequest request, Path file, long start,
+      long length, Runnable onDone) {
+    return start(request, new Download(timeout, onDone::run, out -> {
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        channel.position(start);
+        copy(Channels.newInputStream(channel), out, length);
+      } finally {
+        onDone.run();
+      }
+    }));
+  }
+
+  private ResponseBodyEmitter start(HttpServletRequest request, Download download) {
+    download.onTimeout(() -> {
+      download.cancel();
+      download.complete();
+    });
+    download.onError(e -> download.cancel());
+    download.onCompletion(download::cancel);
+    WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(INTERCEPTOR_KEY,
+        new DeferredResultProcessingInterceptor() {
+          @Override
+          public <T> void preProcess(NativeWebRequest webRequest, DeferredResult<T> result) {
+            submit(download);
+          }
+        });
+    return download;
+  }
+
+  private void submit(Download download) {
+    try {
+      download.task = executor.submit(() -> run(download));
+    } catch (TaskRejectedException e) {
+      rejected.increment();
+      download.cancel();
+      throw new DownloadLimitExceededException("Too many concurrent excerpt downloads");
+    }
+  }
+
+  private void run(Download download) {
+    try {
+      download.body.writeTo(download.response.getBody());
+      download.complete();
+    } catch (IOException | RuntimeException e) {
+      download.completeWithError(e);
+    }
+  }
+
+  private void copy(InputStream content, OutputStream out, long length) throws IOException {
+    var buffer = acquireBuffer();
+    var sample = Timer.start(meterRegistry);
+    activeDownloads.incrementAndGet();
+    var streamed = 0L;
+    try {
+      while (streamed < length) {
+        var read = content.read(buffer, 0, (int) Math.min(buffer.length, length - streamed));
+        if (read == -1) {
+          break;
+        }
+        out.write(buffer, 0, read);
+        streamed += read;
+      }
+      out.flush();
+    } finally {
+      activeDownloads.decrementAndGet();
+      sample.stop(duration);
+      bytesStreamed.increment(streamed);
+      buffers.offer(buffer);
+    }
+  }
+
+  private byte[] acquireBuffer() {
+    var buffer = buffers.poll();
+    return buffer != null ? buffer : new byte[bufferSize];
+  }
+
+  @FunctionalInterface
+  private interface Body {
+
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  private class Download extends ResponseBodyEmitter {
+
+    private final Closeable content;
+    private final Body body;
+    private volatile ServerHttpResponse response;
+    private volatile Future<?> task;
+
+    Download(long timeout, Closeable content, Body body) {
+      super(timeout);
+      this.content = content;
+      this.body = body;
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+      super.extendResponse(outputMessage);
+      // status and headers are written by the first getBody() call, so the copy owns the response
+      this.response = outputMessage;
+    }
+
+    void cancel() {
+      var running = task;
+      if (running != null) {
+        running.cancel(true);
+      }
+      if (content != null) {
+        try {
+          content.close();
+        } catch (IOException e) {
+          log.warn("Could not close excerpt download stream", e);
+        }
+      }
+    }
+  }
+}
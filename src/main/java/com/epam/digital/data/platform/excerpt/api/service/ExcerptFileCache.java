@@ -0,0 +1,339 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+@Component
+public class ExcerptFileCache {
+
+  private static final String TEMP_FILE_SUFFIX = ".part";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptFileCache.class);
+
+  private final boolean enabled;
+  private final Path directory;
+  private final long maxBytes;
+  private final long maxFileBytes;
+
+  private final LinkedHashMap<String, CachedFile> index = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter bytesSaved;
+
+  public ExcerptFileCache(
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.file-cache.enabled:false}") boolean enabled,
+      @Value("${excerpt.file-cache.directory:${java.io.tmpdir}/excerpt-file-cache}") Path directory,
+      @Value("${excerpt.file-cache.max-size:1GB}") DataSize maxSize,
+      @Value("${excerpt.file-cache.max-file-size:50MB}") DataSize maxFileSize) {
+    this.enabled = enabled;
+    this.directory = directory;
+    this.maxBytes = maxSize.toBytes();
+    this.maxFileBytes = Math.min(maxFileSize.toBytes(), maxBytes);
+
+    this.hits = Counter.builder("excerpt.file.cache.requests").tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("excerpt.file.cache.requests").tag("result", "miss")
+        .register(meterRegistry);
+    this.bytesSaved = Counter.builder("excerpt.file.cache.bytes.saved").baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("excerpt.file.cache.size", this, ExcerptFileCache::size).baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("excerpt.file.cache.hit.ratio", this, ExcerptFileCache::hitRatio)
+        .register(meterRegistry);
+
+    if (enabled) {
+      prepareDirectory();
+    }
+  }
+
+  /**
+   * Returns the cached file and pins it on disk; the caller must {@link CachedFile#release()} it
+   * once the file is no longer read, otherwise an evicted file is never deleted.
+   */
+  public Optional<CachedFile> acquire(String excerptKey) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    CachedFile cachedFile;
+    synchronized (index) {
+      cachedFile = index.get(excerptKey);
+      if (cachedFile != null) {
+        cachedFile.references++;
+      }
+    }
+    (cachedFile == null ? misses : hits).increment();
+    return Optional.ofNullable(cachedFile);
+  }
+
+  public InputStream cacheWhileReading(String excerptKey, long contentLength, String eTag,
+      InputStream content) {
+    if (!enabled || contentLength > maxFileBytes) {
+      return content;
+    }
+    try {
+      var tempFile = Files.createTempFile(directory, null, TEMP_FILE_SUFFIX);
+      return new CachingInputStream(content, tempFile, contentLength,
+          () -> put(excerptKey, tempFile, contentLength, eTag));
+    } catch (IOException e) {
+      log.warn("Could not create excerpt cache file, serving excerpt without caching", e);
+      return content;
+    }
+  }
+
+  public void recordBytesServed(long bytes) {
+    bytesSaved.increment(bytes);
+  }
+
+  long size() {
+    synchronized (index) {
+      return totalBytes;
+    }
+  }
+
+  private double hitRatio() {
+    var total = hits.count() + misses.count();
+    return total == 0 ? 0 : hits.count() / total;
+  }
+
+  private void put(String excerptKey, Path tempFile, long contentLength, String eTag) {
+    // a fresh name per file, so a replaced entry still being read keeps its own file
+    var target = directory.resolve(UUID.randomUUID().toString());
+    try {
+      Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Could not store excerpt file in cache", e);
+      deleteQuietly(tempFile);
+      return;
+    }
+
+    var unused = new ArrayList<CachedFile>();
+    synchronized (index) {
+      var previous = index.put(excerptKey, new CachedFile(target, contentLength, eTag));
+      if (previous != null) {
+        totalBytes -= previous.getContentLength();
+        evict(previous, unused);
+      }
+      totalBytes += contentLength;
+      var iterator = index.entrySet().iterator();
+      while (totalBytes > maxBytes && iterator.hasNext()) {
+        var eldest = iterator.next();
+        if (eldest.getKey().equals(excerptKey)) {
+          continue;
+        }
+        iterator.remove();
+        totalBytes -= eldest.getValue().getContentLength();
+        evict(eldest.getValue(), unused);
+      }
+    }
+    unused.forEach(cachedFile -> deleteQuietly(cachedFile.getPath()));
+  }
+
+  private void evict(CachedFile cachedFile, List<CachedFile> unused) {
+    cachedFile.evicted = true;
+    if (cachedFile.references == 0) {
+      unused.add(cachedFile);
+    }
+  }
+
+  private void release(CachedFile cachedFile) {
+    boolean unused;
+    synchronized (index) {
+      cachedFile.references--;
+      unused = cachedFile.evicted && cachedFile.references == 0;
+    }
+    if (unused) {
+      deleteQuietly(cachedFile.getPath());
+    }
+  }
+
+  private void prepareDirectory() {
+    try {
+      FileSystemUtils.deleteRecursively(directory);
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not prepare excerpt file cache directory", e);
+    }
+    log.info("Excerpt file cache enabled in {} with {} byte(s) limit", directory, maxBytes);
+  }
+
+  private void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete excerpt cache file {}", file, e);
+    }
+  }
+
+  public class CachedFile {
+
+    private final Path path;
+    private final long contentLength;
+    private final String eTag;
+    // guarded by index
+    private int references;
+    private boolean evicted;
+
+    CachedFile(Path path, long contentLength, String eTag) {
+      this.path = path;
+      this.contentLength = contentLength;
+      this.eTag = eTag;
+    }
+
+    public Path getPath() {
+      return path;
+    }
+
+    public long getContentLength() {
+      return contentLength;
+    }
+
+    public String getETag() {
+      return eTag;
+    }
+
+    public void release() {
+      ExcerptFileCache.this.release(this);
+    }
+  }
+
+  private class CachingInputStream extends FilterInputStream {
+
+    private final Path tempFile;
+    private final long expectedLength;
+    private final Runnable onComplete;
+    private OutputStream out;
+    private long written;
+
+    CachingInputStream(InputStream in, Path tempFile, long expectedLength, Runnable onComplete)
+        throws IOException {
+      super(in);
+      this.tempFile = tempFile;
+      this.expectedLength = expectedLength;
+      this.onComplete = onComplete;
+      this.out = Files.newOutputStream(tempFile);
+    }
+
+    @Override
+    public int read() throws IOException {
+      var b = super.read();
+      if (b == -1) {
+        complete();
+      } else {
+        write(new byte[] {(byte) b}, 0, 1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      var read = super.read(b, off, len);
+      if (read == -1) {
+        complete();
+      } else {
+        write(b, off, read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      abandon();
+      return super.skip(n);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        abandon();
+      }
+    }
+
+    private void write(byte[] b, int off, int len) {
+      if (out == null) {
+        return;
+      }
+      try {
+        out.write(b, off, len);
+        written += len;
+      } catch (IOException e) {
+        log.warn("Could not write excerpt cache file", e);
+        abandon();
+      }
+    }
+
+    private void complete() {
+      if (out == null) {
+        return;
+      }
+      try {
+        out.close();
+        out = null;
+      } catch (IOException e) {
+        log.warn("Could not write excerpt cache file", e);
+        out = null;
+        deleteQuietly(tempFile);
+        return;
+      }
+      if (written == expectedLength) {
+        onComplete.run();
+      } else {
+        deleteQuietly(tempFile);
+      }
+    }
+
+    private void abandon() {
+      if (out == null) {
+        return;
+      }
+      try {
+        out.close();
+      } catch (IOException e) {
+        log.debug("Could not close excerpt cache file", e);
+      }
+      out = null;
+      deleteQuietly(tempFile);
+    }
+  }
+}
@@ -19,23 +19,33 @@ package com.epam.digital.data.platform.excerpt.api.service;
 import com.epam.digital.data.platform.excerpt.api.exception.ExcerptProcessingException;
 import com.epam.digital.data.platform.excerpt.api.exception.MandatoryHeaderMissingException;
 import com.epam.digital.data.platform.excerpt.api.exception.SigningNotAllowedException;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchItemResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchRequest;
 import com.epam.digital.data.platform.excerpt.api.model.RequestContext;
 import com.epam.digital.data.platform.excerpt.api.model.SecurityContext;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
-import com.epam.digital.data.platform.excerpt.api.repository.TemplateRepository;
 import com.epam.digital.data.platform.excerpt.api.util.Header;
 import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptTemplate;
 import com.epam.digital.data.platform.excerpt.model.ExcerptEntityId;
 import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
 import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.FAILED;
 import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
 
@@ -43,11 +53,19 @@ import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStat
 public class ExcerptGenerationService {
 
   private static final Set<String> UNSIGNED_TYPES = Set.of("docx", "csv");
-  
+
+  static final String TEMPLATE_NOT_FOUND = "TEMPLATE_NOT_FOUND";
+  static final String SIGNING_NOT_ALLOWED = "SIGNING_NOT_ALLOWED";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptGenerationService.class);
+
   private final RecordRepository recordRepository;
-  private final TemplateRepository templateRepository;
+  private final ExcerptTemplateCache excerptTemplateCache;
 
-  private final KafkaHelper kafkaHelper;
+  private final ExcerptOutboxService excerptOutboxService;
+  private final ExcerptIdempotencyService excerptIdempotencyService;
+  private final ExcerptDeduplicationService excerptDeduplicationService;
+  private final TransactionTemplate transactionTemplate;
   private final JwtHelper jwtHelper;
   private final DigitalSignatureService digitalSignatureService;
 
@@ -55,14 +73,20 @@ public class ExcerptGenerationService {
 
   public ExcerptGenerationService(
       RecordRepository recordRepository,
-      TemplateRepository templateRepository,
-      KafkaHelper kafkaHelper,
+      ExcerptTemplateCache excerptTemplateCache,
+      ExcerptOutboxService excerptOutboxService,
+      ExcerptIdempotencyService excerptIdempotencyService,
+      ExcerptDeduplicationService excerptDeduplicationService,
+      TransactionTemplate transactionTemplate,
       JwtHelper jwtHelper,
       DigitalSignatureService digitalSignatureService,
       @Value("${dataplatform.signature.enabled}") boolean isDigitalSignatureEnabled) {
     this.recordRepository = recordRepository;
-    this.templateRepository = templateRepository;
-    this.kafkaHelper = kafkaHelper;
+    this.excerptTemplateCache = excerptTemplateCache;
+    this.excerptOutboxService = excerptOutboxService;
+    this.excerptIdempotencyService = excerptIdempotencyService;
+    this.excerptDeduplicationService = excerptDeduplicationService;
+    this.transactionTemplate = transactionTemplate;
     this.jwtHelper = jwtHelper;
     this.digitalSignatureService = digitalSignatureService;
     this.isDigitalSignatureEnabled = isDigitalSignatureEnabled;
@@ -72,30 +96,128 @@ public class ExcerptGenerationService {
                                          RequestContext requestContext,
                                          SecurityContext securityContext) {
     var excerptType = excerptEventDto.getExcerptType();
+    var keycloakId = jwtHelper.getKeycloakId(securityContext.getAccessToken());
+    var idempotencyKey = requestContext.getIdempotencyKey();
 
+    // a replayed request is answered only if it is signed and identical to the original one
     validateAndSaveSignatures(excerptEventDto, securityContext);
-    var excerptTemplate = validateTemplate(excerptType);
+    var requestHash = idempotencyKey == null
+        ? null : excerptIdempotencyService.requestHash(excerptEventDto);
+    if (idempotencyKey != null) {
+      var existingRecordId =
+          excerptIdempotencyService.findRecordId(keycloakId, idempotencyKey, requestHash);
+      if (existingRecordId.isPresent()) {
+        log.info("Excerpt generation request replayed with known idempotency key");
+        return new ExcerptEntityId(existingRecordId.get());
+      }
+    }
+
+    var excerptTemplate = validateTemplate(excerptType, excerptTemplateCache.findByName(excerptType));
     validateTemplateType(excerptTemplate, excerptEventDto);
 
-    var newRecord = recordRepository.save(buildRecord(excerptEventDto, requestContext,
-        securityContext, excerptTemplate.getTemplateType()));
-    kafkaHelper.send(newRecord, excerptType, excerptEventDto.getExcerptInputData(), excerptTemplate.getTemplateType());
+    var contentHash = excerptDeduplicationService.isEnabled(excerptType)
+        ? excerptDeduplicationService.contentHash(excerptEventDto) : null;
+    var completedRecord = contentHash == null ? Optional.<ExcerptRecord>empty()
+        : excerptDeduplicationService.findCompletedRecord(contentHash);
+
+    ExcerptRecord newRecord;
+    try {
+      newRecord = transactionTemplate.execute(status -> {
+        var excerptRecord = buildRecord(excerptEventDto, requestContext, securityContext,
+            keycloakId, excerptTemplate.getTemplateType());
+        completedRecord.ifPresent(completed -> {
+          excerptRecord.setStatus(COMPLETED);
+          excerptRecord.setExcerptKey(completed.getExcerptKey());
+        });
+        var savedRecord = recordRepository.save(excerptRecord);
+        if (idempotencyKey != null) {
+          excerptIdempotencyService.register(keycloakId, idempotencyKey, requestHash,
+              savedRecord.getId());
+        }
+        if (completedRecord.isPresent()) {
+          log.info("Excerpt content reused from already generated excerpt {}",
+              completedRecord.get().getId());
+          return savedRecord;
+        }
+        if (contentHash != null) {
+          excerptDeduplicationService.register(contentHash, savedRecord.getId());
+        }
+        excerptOutboxService.enqueue(savedRecord, excerptType,
+            excerptEventDto.getExcerptInputData(), excerptTemplate.getTemplateType());
+        return savedRecord;
+      });
+    } catch (DataIntegrityViolationException e) {
+      if (idempotencyKey == null) {
+        throw e;
+      }
+      log.info("Concurrent excerpt generation request with the same idempotency key detected");
+      return excerptIdempotencyService.findRecordId(keycloakId, idempotencyKey, requestHash)
+          .map(ExcerptEntityId::new)
+          .orElseThrow(() -> e);
+    }
 
+    if (idempotencyKey != null) {
+      excerptIdempotencyService.remember(keycloakId, idempotencyKey, requestHash,
+          newRecord.getId());
+    }
     return new ExcerptEntityId(newRecord.getId());
   }
 
-  private void validateAndSaveSignatures(
-      ExcerptEventDto excerptEventDto, SecurityContext securityContext) {
+  public List<ExcerptBatchItemResult> generateExcerpts(ExcerptBatchRequest batchRequest,
+                                                       RequestContext requestContext,
+                                                       SecurityContext securityContext) {
+    validateAndSaveSignatures(batchRequest, securityContext);
+    var keycloakId = jwtHelper.getKeycloakId(securityContext.getAccessToken());
+
+    var items = batchRequest.getExcerpts();
+    var results = new ExcerptBatchItemResult[items.size()];
+    var templates = new HashMap<String, Optional<ExcerptTemplate>>();
+    var acceptedItems = new ArrayList<Integer>();
+    var newRecords = new ArrayList<ExcerptRecord>();
+
+    for (int i = 0; i < items.size(); i++) {
+      var item = items.get(i);
+      var excerptType = item.getExcerptType();
+      try {
+        var excerptTemplate = validateTemplate(excerptType,
+            templates.computeIfAbsent(excerptType, excerptTemplateCache::findByName));
+        validateTemplateType(excerptTemplate, item);
+        acceptedItems.add(i);
+        newRecords.add(buildRecord(item, requestContext, securityContext, keycloakId,
+            excerptTemplate.getTemplateType()));
+      } catch (ExcerptProcessingException e) {
+        results[i] = ExcerptBatchItemResult.failure(TEMPLATE_NOT_FOUND, e.getMessage());
+      } catch (SigningNotAllowedException e) {
+        results[i] = ExcerptBatchItemResult.failure(SIGNING_NOT_ALLOWED, e.getMessage());
+      }
+    }
+
+    if (!newRecords.isEmpty()) {
+      transactionTemplate.executeWithoutResult(status -> {
+        var savedRecords = new ArrayList<ExcerptRecord>(newRecords.size());
+        recordRepository.saveAll(newRecords).forEach(savedRecords::add);
+        for (int j = 0; j < savedRecords.size(); j++) {
+          var savedRecord = savedRecords.get(j);
+          var itemIndex = acceptedItems.get(j);
+          var item = items.get(itemIndex);
+          excerptOutboxService.enqueue(savedRecord, item.getExcerptType(),
+              item.getExcerptInputData(), savedRecord.getExcerptType());
+          results[itemIndex] = ExcerptBatchItemResult.success(savedRecord.getId());
+        }
+      });
+    }
+
+    return Arrays.asList(results);
+  }
+
+  private void validateAndSaveSignatures(Object data, SecurityContext securityContext) {
     if (!isDigitalSignatureEnabled) {
       return;
     }
     verifyMandatoryHeaders(securityContext);
 
-    digitalSignatureService.checkSignature(
-        excerptEventDto, securityContext.getDigitalSignatureDerived());
-
-    digitalSignatureService.saveSignature(securityContext.getDigitalSignature());
-    digitalSignatureService.saveSignature(securityContext.getDigitalSignatureDerived());
+    digitalSignatureService.checkAndSaveSignatures(data, securityContext.getDigitalSignature(),
+        securityContext.getDigitalSignatureDerived());
   }
 
   private void verifyMandatoryHeaders(SecurityContext context) {
@@ -111,9 +233,9 @@ public class ExcerptGenerationService {
     }
   }
 
-  private ExcerptTemplate validateTemplate(String excerptType) {
-    return templateRepository
-        .findFirstByTemplateName(excerptType)
+  private ExcerptTemplate validateTemplate(String excerptType,
+      Optional<ExcerptTemplate> excerptTemplate) {
+    return excerptTemplate
         .orElseThrow(
             () -> new ExcerptProcessingException(FAILED, "Template not found: " + excerptType));
   }
@@ -126,14 +248,14 @@ public class ExcerptGenerationService {
   }
 
   private ExcerptRecord buildRecord(ExcerptEventDto excerptEventDto, RequestContext requestContext,
-      SecurityContext securityContext, String templateType) {
+      SecurityContext securityContext, String keycloakId, String templateType) {
     var excerptRecord = new ExcerptRecord();
     excerptRecord.setStatus(IN_PROGRESS);
     var now = LocalDateTime.now();
     excerptRecord.setCreatedAt(now);
     excerptRecord.setUpdatedAt(now);
     excerptRecord.setSignatureRequired(excerptEventDto.isRequiresSystemSignature());
-    excerptRecord.setKeycloakId(jwtHelper.getKeycloakId(securityContext.getAccessToken()));
+    excerptRecord.setKeycloakId(keycloakId);
 
     excerptRecord.setxDigitalSignature(securityContext.getDigitalSignature());
     excerptRecord.setxDigitalSignatureDerived(securityContext.getDigitalSignatureDerived());
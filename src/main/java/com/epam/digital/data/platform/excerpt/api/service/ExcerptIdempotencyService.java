@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptIdempotencyKey;
+import com.epam.digital.data.platform.excerpt.api.exception.IdempotencyKeyReusedException;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptIdempotencyKeyRepository;
+import com.epam.digital.data.platform.excerpt.api.util.HashUtils;
+import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class ExcerptIdempotencyService {
+
+  static final String CACHE_NAME = "excerpt-idempotency-keys";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptIdempotencyService.class);
+
+  private final ExcerptIdempotencyKeyRepository idempotencyKeyRepository;
+  private final ObjectMapper canonicalObjectMapper;
+  private final Cache<String, ExcerptIdempotencyKey> cache;
+  private final Duration retention;
+
+  public ExcerptIdempotencyService(
+      ExcerptIdempotencyKeyRepository idempotencyKeyRepository,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.idempotency.cache.max-size:10000}") long cacheMaxSize,
+      @Value("${excerpt.idempotency.cache.ttl:10m}") Duration cacheTtl,
+      @Value("${excerpt.idempotency.retention:24h}") Duration retention) {
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.canonicalObjectMapper = objectMapper.copy()
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    this.retention = retention;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(cacheMaxSize)
+        .expireAfterWrite(cacheTtl.compareTo(retention) < 0 ? cacheTtl : retention)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public String requestHash(ExcerptEventDto excerptEventDto) {
+    try {
+      return HashUtils.sha256Hex(canonicalObjectMapper.writeValueAsBytes(excerptEventDto));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Returns the record created for the key, failing if the key was used for a different request.
+   */
+  public Optional<UUID> findRecordId(String keycloakId, String idempotencyKey,
+      String requestHash) {
+    var cacheKey = cacheKey(keycloakId, idempotencyKey);
+    var storedKey = Optional.ofNullable(cache.getIfPresent(cacheKey));
+    if (storedKey.isEmpty()) {
+      var threshold = LocalDateTime.now().minus(retention);
+      storedKey = idempotencyKeyRepository
+          .findByKeycloakIdAndIdempotencyKey(keycloakId, idempotencyKey)
+          .filter(key -> key.getCreatedAt().isAfter(threshold));
+      storedKey.ifPresent(key -> cache.put(cacheKey, key));
+    }
+
+    if (storedKey.isPresent() && !storedKey.get().getRequestHash().equals(requestHash)) {
+      throw new IdempotencyKeyReusedException(
+          "Idempotency key was already used with a different request");
+    }
+    return storedKey.map(ExcerptIdempotencyKey::getRecordId);
+  }
+
+  public void register(String keycloakId, String idempotencyKey, String requestHash,
+      UUID recordId) {
+    var now = LocalDateTime.now();
+    // an expired key may still be stored until the next cleanup; it must not block its reuse
+    var stored = idempotencyKeyRepository.insertOrReplaceExpired(UUID.randomUUID(), keycloakId,
+        idempotencyKey, requestHash, recordId, now, now.minus(retention));
+    if (stored == 0) {
+      throw new DataIntegrityViolationException(
+          "Idempotency key is already registered by a concurrent request");
+    }
+  }
+
+  public void remember(String keycloakId, String idempotencyKey, String requestHash,
+      UUID recordId) {
+    var key = new ExcerptIdempotencyKey();
+    key.setKeycloakId(keycloakId);
+    key.setIdempotencyKey(idempotencyKey);
+    key.setRequestHash(requestHash);
+    key.setRecordId(recordId);
+    key.setCreatedAt(LocalDateTime.now());
+    cache.put(cacheKey(keycloakId, idempotencyKey), key);
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${excerpt.idempotency.cleanup-interval:PT1H}")
+  public void removeExpiredKeys() {
+    var removed = idempotencyKeyRepository.deleteCreatedBefore(
+        LocalDateTime.now().minus(retention));
+    if (removed > 0) {
+      log.info("Removed {} expired idempotency key(s)", removed);
+    }
+  }
+
+  private String cacheKey(String keycloakId, String idempotencyKey) {
+    return keycloakId + ':' + idempotencyKey;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.FAILED;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptOutboxEvent;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptOutboxRepository;
+import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@ConditionalOnProperty(prefix = "excerpt.outbox.relay", name = "enabled", matchIfMissing = true)
+public class ExcerptOutboxRelay {
+
+  static final String SEND_FAILED_DETAILS = "Failed to send data for processing";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptOutboxRelay.class);
+
+  private final ExcerptOutboxRepository outboxRepository;
+  private final RecordRepository recordRepository;
+  private final KafkaHelper kafkaHelper;
+  private final ExcerptStatusCache excerptStatusCache;
+  private final TransactionTemplate transactionTemplate;
+
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration lease;
+
+  public ExcerptOutboxRelay(
+      ExcerptOutboxRepository outboxRepository,
+      RecordRepository recordRepository,
+      KafkaHelper kafkaHelper,
+      ExcerptStatusCache excerptStatusCache,
+      TransactionTemplate transactionTemplate,
+      @Value("${excerpt.outbox.relay.batch-size:100}") int batchSize,
+      @Value("${excerpt.outbox.relay.max-attempts:15}") int maxAttempts,
+      @Value("${excerpt.outbox.relay.retry-backoff.initial:1s}") Duration initialBackoff,
+      @Value("${excerpt.outbox.relay.retry-backoff.max:1m}") Duration maxBackoff,
+      @Value("${excerpt.outbox.relay.lease-margin:30s}") Duration leaseMargin) {
+    this.outboxRepository = outboxRepository;
+    this.recordRepository = recordRepository;
+    this.kafkaHelper = kafkaHelper;
+    this.excerptStatusCache = excerptStatusCache;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    // a claimed batch must not be re-claimed by another instance while it is still being sent
+    this.lease = kafkaHelper.getMaxSendDuration().plus(leaseMargin);
+  }
+
+  @Scheduled(fixedDelayString = "${excerpt.outbox.relay.fixed-delay:500}")
+  public void relay() {
+    var batch = transactionTemplate.execute(status -> claimNextBatch());
+    if (batch == null || batch.isEmpty()) {
+      return;
+    }
+
+    // no connection or row lock is held while waiting for Kafka
+    var delivered = kafkaHelper.send(batch);
+
+    var undelivered = new ArrayList<>(batch);
+    undelivered.removeAll(delivered);
+    transactionTemplate.executeWithoutResult(status -> {
+      outboxRepository.deleteAll(delivered);
+      undelivered.forEach(this::handleUndelivered);
+    });
+  }
+
+  private List<ExcerptOutboxEvent> claimNextBatch() {
+    var now = LocalDateTime.now();
+    var batch = outboxRepository.findNextBatchForUpdate(now, batchSize);
+    var leasedUntil = now.plus(lease);
+    batch.forEach(event -> event.setLeasedUntil(leasedUntil));
+    outboxRepository.saveAll(batch);
+    return batch;
+  }
+
+  private void handleUndelivered(ExcerptOutboxEvent event) {
+    event.setAttempts(event.getAttempts() + 1);
+    if (event.getAttempts() < maxAttempts) {
+      event.setLeasedUntil(LocalDateTime.now().plus(backoff(event.getAttempts())));
+      outboxRepository.save(event);
+      return;
+    }
+
+    log.error("Giving up sending excerpt generation event for record {} after {} attempt(s)",
+        event.getRecordId(), event.getAttempts());
+    recordRepository.findById(event.getRecordId()).ifPresent(excerptRecord -> {
+      excerptRecord.setStatus(FAILED);
+      excerptRecord.setStatusDetails(SEND_FAILED_DETAILS);
+      excerptRecord.setUpdatedAt(LocalDateTime.now());
+      recordRepository.save(excerptRecord);
+      excerptStatusCache.evict(event.getRecordId());
+    });
+    outboxRepository.delete(event);
+  }
+
+  private Duration backoff(int attempts) {
+    var backoff = initialBackoff;
+    for (int i = 1; i < attempts && backoff.compareTo(maxBackoff) < 0; i++) {
+      backoff = backoff.multipliedBy(2);
+    }
+    return backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptOutboxEvent;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptOutboxRepository;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import com.epam.digital.data.platform.starter.kafka.config.properties.KafkaProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExcerptOutboxService {
+
+  private final ExcerptOutboxRepository outboxRepository;
+  private final KafkaProperties kafkaProperties;
+  private final ObjectMapper objectMapper;
+
+  public ExcerptOutboxService(
+      ExcerptOutboxRepository outboxRepository,
+      KafkaProperties kafkaProperties,
+      ObjectMapper objectMapper) {
+    this.outboxRepository = outboxRepository;
+    this.kafkaProperties = kafkaProperties;
+    this.objectMapper = objectMapper;
+  }
+
+  public ExcerptOutboxEvent enqueue(ExcerptRecord newRecord, String name,
+      Map<String, Object> json, String templateType) {
+    var event = new ExcerptEventDto(newRecord.getId(), name, json, newRecord.getSignatureRequired());
+
+    var outboxEvent = new ExcerptOutboxEvent();
+    outboxEvent.setId(UUID.randomUUID());
+    outboxEvent.setRecordId(newRecord.getId());
+    outboxEvent.setTopic(kafkaProperties.getTopics().get(templateType));
+    outboxEvent.setPayload(serialize(event));
+    outboxEvent.setCreatedAt(LocalDateTime.now());
+    return outboxRepository.save(outboxEvent);
+  }
+
+  private String serialize(ExcerptEventDto event) {
+    try {
+      return objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -16,18 +16,33 @@
 
 package com.epam.digital.data.platform.excerpt.api.service;
 
+import com.amazonaws.HttpMethod;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.ResponseHeaderOverrides;
 import com.epam.digital.data.platform.excerpt.api.exception.ExcerptNotFoundException;
 import com.epam.digital.data.platform.excerpt.api.exception.InvalidKeycloakIdException;
-import com.epam.digital.data.platform.excerpt.api.model.CephObjectWrapper;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptFile;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptUrl;
 import com.epam.digital.data.platform.excerpt.api.model.SecurityContext;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
 import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
-import com.epam.digital.data.platform.integration.ceph.model.CephObject;
-import com.epam.digital.data.platform.integration.ceph.service.CephService;
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -35,41 +50,145 @@ import java.util.UUID;
 @Service
 public class ExcerptRetrievingService {
 
+  private static final String ATTACHMENT_HEADER_VALUE = "attachment; filename=\"%s.%s\"";
+
   private final Logger log = LoggerFactory.getLogger(ExcerptRetrievingService.class);
 
   private final RecordRepository recordRepository;
   private final JwtHelper jwtHelper;
 
-  private final CephService excerptCephService;
+  private final AmazonS3 excerptS3Client;
+  private final AmazonS3 excerptPresignS3Client;
+  private final ExcerptFileCache excerptFileCache;
   private final String bucket;
+  private final Duration presignedUrlTtl;
 
   public ExcerptRetrievingService(
       RecordRepository recordRepository,
       JwtHelper jwtHelper,
-      CephService excerptCephService,
-      @Value("${datafactory-excerpt-ceph.bucket}") String bucket) {
+      AmazonS3 excerptS3Client,
+      AmazonS3 excerptPresignS3Client,
+      ExcerptFileCache excerptFileCache,
+      @Value("${datafactory-excerpt-ceph.bucket}") String bucket,
+      @Value("${excerpt.retrieval.presigned-url.ttl:5m}") Duration presignedUrlTtl) {
     this.recordRepository = recordRepository;
     this.jwtHelper = jwtHelper;
-    this.excerptCephService = excerptCephService;
+    this.excerptS3Client = excerptS3Client;
+    this.excerptPresignS3Client = excerptPresignS3Client;
+    this.excerptFileCache = excerptFileCache;
     this.bucket = bucket;
+    this.presignedUrlTtl = presignedUrlTtl;
+  }
+
+  public ExcerptFile getExcerpt(UUID id, SecurityContext context) {
+    var excerpt = getExcerptRecord(id, context);
+    var excerptKey = excerpt.getExcerptKey();
+
+    var cachedFile = excerptFileCache.acquire(excerptKey);
+    if (cachedFile.isPresent()) {
+      return toExcerptFile(excerpt, cachedFile.get());
+    }
+
+    log.info("Searching Excerpt in Ceph");
+    var s3Object = callCeph(excerptKey,
+        () -> excerptS3Client.getObject(new GetObjectRequest(bucket, excerptKey)));
+    var metadata = s3Object.getObjectMetadata();
+    var eTag = toETag(metadata);
+    var content = excerptFileCache.cacheWhileReading(excerptKey, metadata.getContentLength(),
+        eTag, s3Object.getObjectContent());
+    return new ExcerptFile(excerptKey, excerpt.getExcerptType(), metadata.getContentLength(),
+        eTag, content);
   }
 
-  public CephObjectWrapper getExcerpt(UUID id, SecurityContext context) {
+  public ExcerptFile getExcerptMetadata(UUID id, SecurityContext context) {
+    var excerpt = getExcerptRecord(id, context);
+    var excerptKey = excerpt.getExcerptKey();
+
+    var cachedFile = excerptFileCache.acquire(excerptKey);
+    if (cachedFile.isPresent()) {
+      return toExcerptFile(excerpt, cachedFile.get());
+    }
+
+    log.info("Searching Excerpt metadata in Ceph");
+    var metadata = callCeph(excerptKey,
+        () -> excerptS3Client.getObjectMetadata(bucket, excerptKey));
+    return new ExcerptFile(excerptKey, excerpt.getExcerptType(), metadata.getContentLength(),
+        toETag(metadata), null);
+  }
+
+  public InputStream getExcerptContent(ExcerptFile excerptFile) {
+    var excerptKey = excerptFile.getExcerptKey();
+    var content = callCeph(excerptKey,
+        () -> excerptS3Client.getObject(new GetObjectRequest(bucket, excerptKey)))
+        .getObjectContent();
+    return excerptFileCache.cacheWhileReading(excerptKey, excerptFile.getContentLength(),
+        excerptFile.getETag(), content);
+  }
+
+  public InputStream getExcerptContent(ExcerptFile excerptFile, long start, long end) {
+    var excerptKey = excerptFile.getExcerptKey();
+    return callCeph(excerptKey,
+        () -> excerptS3Client.getObject(
+            new GetObjectRequest(bucket, excerptKey).withRange(start, end)))
+        .getObjectContent();
+  }
+
+  public ExcerptUrl getExcerptUrl(UUID id, SecurityContext context) {
+    var excerpt = getExcerptRecord(id, context);
+    var excerptKey = excerpt.getExcerptKey();
+    // a presigned URL is issued for any key, so make sure the excerpt file is really there
+    callCeph(excerptKey, () -> excerptS3Client.getObjectMetadata(bucket, excerptKey));
+
+    var expiresAt = Instant.now().plus(presignedUrlTtl);
+    var request = new GeneratePresignedUrlRequest(bucket, excerptKey, HttpMethod.GET)
+        .withExpiration(Date.from(expiresAt))
+        .withResponseHeaders(new ResponseHeaderOverrides()
+            .withContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+            .withContentDisposition(
+                String.format(ATTACHMENT_HEADER_VALUE, id, excerpt.getExcerptType())));
+    var url = excerptPresignS3Client.generatePresignedUrl(request);
+    return new ExcerptUrl(url.toString(), expiresAt);
+  }
+
+  public void recordServedFromCache(long bytes) {
+    excerptFileCache.recordBytesServed(bytes);
+  }
+
+  private ExcerptRecord getExcerptRecord(UUID id, SecurityContext context) {
     var excerpt = recordRepository.findById(id)
             .orElseThrow(() -> new ExcerptNotFoundException("Record not found in DB: " + id));
 
     validateKeycloakId(excerpt, context);
 
-    log.info("Searching Excerpt in Ceph");
     if (excerpt.getExcerptKey() == null) {
       log.error("Could not find excerpt with null Ceph key");
       throw new ExcerptNotFoundException("Could not find excerpt with null Ceph key");
     }
-    CephObject cephObject = excerptCephService
-        .get(bucket, excerpt.getExcerptKey())
-        .orElseThrow(() -> new ExcerptNotFoundException(
-                    "Excerpt not found in Ceph: " + excerpt.getExcerptKey()));
-    return new CephObjectWrapper(cephObject, excerpt.getExcerptType());
+    return excerpt;
+  }
+
+  private <T> T callCeph(String excerptKey, Supplier<T> call) {
+    try {
+      return call.get();
+    } catch (AmazonS3Exception e) {
+      if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+        throw new ExcerptNotFoundException("Excerpt not found in Ceph: " + excerptKey);
+      }
+      throw new CephCommunicationException("Failed to retrieve excerpt from Ceph", e);
+    } catch (SdkClientException e) {
+      throw new CephCommunicationException("Failed to retrieve excerpt from Ceph", e);
+    }
+  }
+
+  private ExcerptFile toExcerptFile(ExcerptRecord excerpt,
+      ExcerptFileCache.CachedFile cachedFile) {
+    return new ExcerptFile(excerpt.getExcerptKey(), excerpt.getExcerptType(),
+        cachedFile.getContentLength(), cachedFile.getETag(), null, cachedFile.getPath(),
+        cachedFile::release);
+  }
+
+  private String toETag(ObjectMetadata metadata) {
+    return "\"" + metadata.getETag() + "\"";
   }
 
   private void validateKeycloakId(ExcerptRecord excerpt, SecurityContext context) {
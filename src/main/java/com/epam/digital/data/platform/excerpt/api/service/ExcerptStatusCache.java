@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
+
+import com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus;
+import com.epam.digital.data.platform.excerpt.model.StatusDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExcerptStatusCache {
+
+  static final String CACHE_NAME = "excerpt-statuses";
+  static final String REDIS_KEY_PREFIX = "excerpt-status:";
+
+  private static final String STATUS_FIELD = "status";
+  private static final String STATUS_DETAILS_FIELD = "statusDetails";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptStatusCache.class);
+
+  private final ObjectMapper objectMapper;
+  private final StringRedisTemplate redisTemplate;
+  private final Duration terminalTtl;
+  private final Duration inProgressTtl;
+  private final Cache<UUID, CachedStatus> cache;
+
+  private final Counter redisHits;
+  private final Counter redisMisses;
+  private final Timer staleness;
+
+  public ExcerptStatusCache(
+      MeterRegistry meterRegistry,
+      ObjectMapper objectMapper,
+      ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+      @Value("${excerpt.status-cache.max-size:10000}") long maxSize,
+      @Value("${excerpt.status-cache.terminal-ttl:1h}") Duration terminalTtl,
+      @Value("${excerpt.status-cache.in-progress-ttl:2s}") Duration inProgressTtl,
+      @Value("${excerpt.status-cache.redis.enabled:false}") boolean redisEnabled) {
+    this.objectMapper = objectMapper;
+    this.redisTemplate = redisEnabled ? redisTemplateProvider.getObject() : null;
+    this.terminalTtl = terminalTtl;
+    this.inProgressTtl = inProgressTtl;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new StatusExpiry())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+    this.redisHits = Counter.builder("excerpt.status.cache.redis.requests").tag("result", "hit")
+        .register(meterRegistry);
+    this.redisMisses = Counter.builder("excerpt.status.cache.redis.requests").tag("result", "miss")
+        .register(meterRegistry);
+    this.staleness = Timer.builder("excerpt.status.cache.staleness")
+        .description("Age of IN_PROGRESS statuses served from the cache")
+        .register(meterRegistry);
+  }
+
+  public StatusDto get(UUID id, Function<UUID, StatusDto> loader) {
+    var cached = cache.get(id, key -> readRedis(key)
+        .orElseGet(() -> {
+          var status = loader.apply(key);
+          writeRedis(key, status);
+          return new CachedStatus(status);
+        }));
+    if (cached.status.getStatus() == IN_PROGRESS) {
+      staleness.record(Duration.ofNanos(System.nanoTime() - cached.cachedAt));
+    }
+    return cached.status;
+  }
+
+  public Map<UUID, StatusDto> getAllPresent(Iterable<UUID> ids) {
+    var statuses = new LinkedHashMap<UUID, StatusDto>();
+    cache.getAllPresent(ids).forEach((id, cached) -> statuses.put(id, cached.status));
+    return statuses;
+  }
+
+  public void put(UUID id, StatusDto status) {
+    cache.put(id, new CachedStatus(status));
+    writeRedis(id, status);
+  }
+
+  public void evict(UUID id) {
+    cache.invalidate(id);
+    if (redisTemplate != null) {
+      try {
+        redisTemplate.delete(REDIS_KEY_PREFIX + id);
+      } catch (RuntimeException e) {
+        log.warn("Could not evict status of excerpt {} from redis", id, e);
+      }
+    }
+  }
+
+  private Optional<CachedStatus> readRedis(UUID id) {
+    if (redisTemplate == null) {
+      return Optional.empty();
+    }
+    try {
+      var value = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + id);
+      if (value == null) {
+        redisMisses.increment();
+        return Optional.empty();
+      }
+      redisHits.increment();
+      var node = objectMapper.readTree(value);
+      var status = ExcerptProcessingStatus.valueOf(node.path(STATUS_FIELD).asText());
+      var details = node.path(STATUS_DETAILS_FIELD).isNull()
+          ? null : node.path(STATUS_DETAILS_FIELD).asText();
+      return Optional.of(new CachedStatus(new StatusDto(status, details)));
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Could not read status of excerpt {} from redis", id, e);
+      return Optional.empty();
+    }
+  }
+
+  private void writeRedis(UUID id, StatusDto status) {
+    if (redisTemplate == null || status.getStatus() == null) {
+      return;
+    }
+    try {
+      var value = new LinkedHashMap<String, Object>();
+      value.put(STATUS_FIELD, status.getStatus().name());
+      value.put(STATUS_DETAILS_FIELD, status.getStatusDetails());
+      redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + id,
+          objectMapper.writeValueAsString(value), ttl(status));
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Could not write status of excerpt {} to redis", id, e);
+    }
+  }
+
+  private Duration ttl(StatusDto status) {
+    return status.getStatus() == null || status.getStatus() == IN_PROGRESS
+        ? inProgressTtl : terminalTtl;
+  }
+
+  private static class CachedStatus {
+
+    private final StatusDto status;
+    private final long cachedAt = System.nanoTime();
+
+    CachedStatus(StatusDto status) {
+      this.status = status;
+    }
+  }
+
+  private class StatusExpiry implements Expiry<UUID, CachedStatus> {
+
+    @Override
+    public long expireAfterCreate(UUID key, CachedStatus value, long currentTime) {
+      return ttl(value.status).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(UUID key, CachedStatus value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(UUID key, CachedStatus value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
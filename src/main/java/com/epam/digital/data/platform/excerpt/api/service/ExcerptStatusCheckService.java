@@ -16,28 +16,186 @@
 
 package com.epam.digital.data.platform.excerpt.api.service;
 
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
+
 import com.epam.digital.data.platform.excerpt.api.exception.ExcerptNotFoundException;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusBatchResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusEvent;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptStatusView;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
 import com.epam.digital.data.platform.excerpt.model.StatusDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @Service
 public class ExcerptStatusCheckService {
 
+  static final String STATUS_EVENT_NAME = "status";
+  static final String HEARTBEAT_COMMENT = "heartbeat";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptStatusCheckService.class);
+
   private final RecordRepository recordRepository;
+  private final ExcerptStatusWatcher excerptStatusWatcher;
+  private final ExcerptStatusCache excerptStatusCache;
+  private final TaskScheduler taskScheduler;
+  private final Duration maxWait;
+  private final Duration eventsTimeout;
+  private final Duration heartbeatInterval;
 
-  public ExcerptStatusCheckService(RecordRepository recordRepository) {
+  public ExcerptStatusCheckService(
+      RecordRepository recordRepository,
+      ExcerptStatusWatcher excerptStatusWatcher,
+      ExcerptStatusCache excerptStatusCache,
+      TaskScheduler taskScheduler,
+      @Value("${excerpt.status.max-wait:30s}") Duration maxWait,
+      @Value("${excerpt.status.events.timeout:30m}") Duration eventsTimeout,
+      @Value("${excerpt.status.events.heartbeat-interval:15s}") Duration heartbeatInterval) {
     this.recordRepository = recordRepository;
+    this.excerptStatusWatcher = excerptStatusWatcher;
+    this.excerptStatusCache = excerptStatusCache;
+    this.taskScheduler = taskScheduler;
+    this.maxWait = maxWait;
+    this.eventsTimeout = eventsTimeout;
+    this.heartbeatInterval = heartbeatInterval;
   }
 
   public StatusDto getStatus(UUID id) {
-    var excerptRecord =
+    return excerptStatusCache.get(id, this::loadStatus);
+  }
+
+  private StatusDto loadStatus(UUID id) {
+    var status =
         recordRepository
-            .findById(id)
+            .findStatusById(id)
             .orElseThrow(() -> new ExcerptNotFoundException("Record " + id + " not found"));
 
-    return new StatusDto(excerptRecord.getStatus(), excerptRecord.getStatusDetails());
+    return new StatusDto(status.getStatus(), status.getStatusDetails());
+  }
+
+  public ExcerptStatusBatchResult getStatuses(List<UUID> ids) {
+    var found = new HashMap<>(excerptStatusCache.getAllPresent(ids));
+    var missing = ids.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toSet());
+    if (!missing.isEmpty()) {
+      for (ExcerptStatusView view : recordRepository.findStatusesByIdIn(missing)) {
+        var status = new StatusDto(view.getStatus(), view.getStatusDetails());
+        excerptStatusCache.put(view.getId(), status);
+        found.put(view.getId(), status);
+      }
+    }
+
+    var statuses = new LinkedHashMap<UUID, StatusDto>();
+    var notFound = new ArrayList<UUID>();
+    for (UUID id : ids) {
+      var status = found.get(id);
+      if (status != null) {
+        statuses.put(id, status);
+      } else if (!notFound.contains(id)) {
+        notFound.add(id);
+      }
+    }
+    return new ExcerptStatusBatchResult(statuses, notFound);
+  }
+
+  public DeferredResult<StatusDto> awaitStatus(UUID id, Duration wait) {
+    var status = getStatus(id);
+    var timeout = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+    if (status.getStatus() != IN_PROGRESS || timeout.isNegative() || timeout.isZero()) {
+      var result = new DeferredResult<StatusDto>();
+      result.setResult(status);
+      return result;
+    }
+
+    var result = new DeferredResult<StatusDto>(timeout.toMillis(), status);
+    result.onCompletion(excerptStatusWatcher.watch(id, result::setResult));
+    return result;
+  }
+
+  public SseEmitter streamStatus(Collection<UUID> ids) {
+    var statuses = new HashMap<UUID, StatusDto>();
+    for (ExcerptStatusView view : recordRepository.findStatusesByIdIn(ids)) {
+      statuses.put(view.getId(), new StatusDto(view.getStatus(), view.getStatusDetails()));
+    }
+    for (UUID id : ids) {
+      if (!statuses.containsKey(id)) {
+        throw new ExcerptNotFoundException("Record " + id + " not found");
+      }
+    }
+
+    var emitter = new SseEmitter(eventsTimeout.toMillis());
+    var pending = ConcurrentHashMap.<UUID>newKeySet();
+    statuses.forEach((id, status) -> {
+      sendStatus(emitter, id, status);
+      if (status.getStatus() == IN_PROGRESS) {
+        pending.add(id);
+      }
+    });
+    if (pending.isEmpty()) {
+      emitter.complete();
+      return emitter;
+    }
+
+    List<Runnable> subscriptions = new CopyOnWriteArrayList<>();
+    var released = new AtomicBoolean();
+    Runnable release = () -> {
+      if (released.compareAndSet(false, true)) {
+        subscriptions.forEach(Runnable::run);
+      }
+    };
+    emitter.onCompletion(release);
+    emitter.onError(e -> release.run());
+    emitter.onTimeout(emitter::complete);
+    // keeps proxies from closing a stream that has no status change to report for a while
+    var heartbeat = taskScheduler.scheduleAtFixedRate(() -> sendHeartbeat(emitter),
+        heartbeatInterval);
+    subscriptions.add(() -> heartbeat.cancel(false));
+    for (UUID id : Set.copyOf(pending)) {
+      subscriptions.add(excerptStatusWatcher.watch(id, status -> {
+        sendStatus(emitter, id, status);
+        if (pending.remove(id) && pending.isEmpty()) {
+          emitter.complete();
+        }
+      }));
+    }
+    return emitter;
+  }
+
+  private void sendHeartbeat(SseEmitter emitter) {
+    try {
+      emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Could not send heartbeat, client is gone", e);
+      emitter.complete();
+    }
+  }
+
+  private void sendStatus(SseEmitter emitter, UUID id, StatusDto status) {
+    try {
+      emitter.send(SseEmitter.event()
+          .name(STATUS_EVENT_NAME)
+          .data(new ExcerptStatusEvent(id, status.getStatus(), status.getStatusDetails())));
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Could not send status of excerpt {}, client is gone", id, e);
+      emitter.complete();
+    }
   }
 }
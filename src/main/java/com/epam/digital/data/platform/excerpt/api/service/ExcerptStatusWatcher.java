@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
+
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptStatusView;
+import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
+import com.epam.digital.data.platform.excerpt.model.StatusDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExcerptStatusWatcher {
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptStatusWatcher.class);
+
+  private final RecordRepository recordRepository;
+  private final ExcerptStatusCache excerptStatusCache;
+  private final int batchSize;
+
+  private final Map<UUID, Set<Consumer<StatusDto>>> listeners = new ConcurrentHashMap<>();
+
+  public ExcerptStatusWatcher(
+      RecordRepository recordRepository,
+      ExcerptStatusCache excerptStatusCache,
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.status.watch.batch-size:500}") int batchSize) {
+    this.recordRepository = recordRepository;
+    this.excerptStatusCache = excerptStatusCache;
+    this.batchSize = batchSize;
+    Gauge.builder("excerpt.status.watched", listeners, Map::size).register(meterRegistry);
+  }
+
+  public Runnable watch(UUID id, Consumer<StatusDto> listener) {
+    listeners.compute(id, (key, watchers) -> {
+      var result = watchers != null ? watchers : ConcurrentHashMap.<Consumer<StatusDto>>newKeySet();
+      result.add(listener);
+      return result;
+    });
+    return () -> unwatch(id, listener);
+  }
+
+  @Scheduled(fixedDelayString = "${excerpt.status.watch.poll-interval:1000}")
+  public void poll() {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    var ids = new ArrayList<>(listeners.keySet());
+    for (var from = 0; from < ids.size(); from += batchSize) {
+      var batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+      for (ExcerptStatusView view : recordRepository.findStatusesByIdIn(batch)) {
+        if (view.getStatus() != null && view.getStatus() != IN_PROGRESS) {
+          notifyListeners(view.getId(), new StatusDto(view.getStatus(), view.getStatusDetails()));
+        }
+      }
+    }
+  }
+
+  private void notifyListeners(UUID id, StatusDto status) {
+    excerptStatusCache.put(id, status);
+    var watchers = listeners.remove(id);
+    if (watchers == null) {
+      return;
+    }
+    for (Consumer<StatusDto> listener : watchers) {
+      try {
+        listener.accept(status);
+      } catch (RuntimeException e) {
+        log.warn("Could not notify listener about status of excerpt {}", id, e);
+      }
+    }
+  }
+
+  private void unwatch(UUID id, Consumer<StatusDto> listener) {
+    listeners.computeIfPresent(id, (key, watchers) -> {
+      watchers.remove(listener);
+      return watchers.isEmpty() ? null : watchers;
+    });
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.excerpt.api.repository.TemplateRepository;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptTemplate;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExcerptTemplateCache {
+
+  static final String CACHE_NAME = "excerpt-templates";
+
+  private final Logger log = LoggerFactory.getLogger(ExcerptTemplateCache.class);
+
+  private final TemplateRepository templateRepository;
+  private final LoadingCache<String, Optional<ExcerptTemplate>> cache;
+  private final long maxSize;
+
+  public ExcerptTemplateCache(
+      TemplateRepository templateRepository,
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.template-cache.max-size:500}") long maxSize,
+      @Value("${excerpt.template-cache.ttl:5m}") Duration ttl,
+      @Value("${excerpt.template-cache.negative-ttl:30s}") Duration negativeTtl) {
+    this.templateRepository = templateRepository;
+    this.maxSize = maxSize;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new TemplateExpiry(ttl, negativeTtl))
+        .recordStats()
+        .build(templateRepository::findFirstByTemplateName);
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public Optional<ExcerptTemplate> findByName(String templateName) {
+    return cache.get(templateName);
+  }
+
+  public void evict(String templateName) {
+    cache.invalidate(templateName);
+  }
+
+  public void evictAll() {
+    cache.invalidateAll();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    try {
+      var loaded = 0;
+      for (ExcerptTemplate template : templateRepository.findAll()) {
+        if (loaded >= maxSize) {
+          break;
+        }
+        cache.put(template.getTemplateName(), Optional.of(template));
+        loaded++;
+      }
+      log.info("Excerpt template cache warmed up with {} template(s)", loaded);
+    } catch (RuntimeException e) {
+      log.warn("Could not warm up excerpt template cache, templates will be loaded on demand", e);
+    }
+  }
+
+  private static class TemplateExpiry implements Expiry<String, Optional<ExcerptTemplate>> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    TemplateExpiry(Duration ttl, Duration negativeTtl) {
+      this.ttlNanos = ttl.toNanos();
+      this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Optional<ExcerptTemplate> value, long currentTime) {
+      return value.isPresent() ? ttlNanos : negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Optional<ExcerptTemplate> value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Optional<ExcerptTemplate> value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
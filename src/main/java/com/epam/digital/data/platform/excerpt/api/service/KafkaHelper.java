@@ -16,60 +16,106 @@
 
 package com.epam.digital.data.platform.excerpt.api.service;
 
-import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.FAILED;
-
-import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
-import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptOutboxEvent;
 import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
 import com.epam.digital.data.platform.excerpt.model.Request;
-import java.util.Map;
-
-import com.epam.digital.data.platform.starter.kafka.config.properties.KafkaProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
-import org.springframework.util.concurrent.ListenableFutureCallback;
 
 @Component
 public class KafkaHelper {
 
+  private static final Duration DEFAULT_MAX_BLOCK = Duration.ofMinutes(1);
+
   private final Logger log = LoggerFactory.getLogger(KafkaHelper.class);
 
   private final KafkaTemplate<String, Request<ExcerptEventDto>> kafkaTemplate;
-  private final KafkaProperties kafkaProperties;
-  private final RecordRepository recordRepository;
+  private final ObjectMapper objectMapper;
+  private final Duration sendTimeout;
+  private final Duration maxBlock;
 
   public KafkaHelper(
       KafkaTemplate<String, Request<ExcerptEventDto>> kafkaTemplate,
-      KafkaProperties kafkaProperties,
-      RecordRepository recordRepository) {
+      ObjectMapper objectMapper,
+      @Value("${excerpt.outbox.relay.send-timeout:10s}") Duration sendTimeout) {
     this.kafkaTemplate = kafkaTemplate;
-    this.kafkaProperties = kafkaProperties;
-    this.recordRepository = recordRepository;
+    this.objectMapper = objectMapper;
+    this.sendTimeout = sendTimeout;
+    this.maxBlock = maxBlock(kafkaTemplate);
   }
 
-  public void send(ExcerptRecord newRecord, String name, Map<String, Object> json, String templateType) {
-    var event = new ExcerptEventDto(newRecord.getId(), name, json, newRecord.getSignatureRequired());
-    Request<ExcerptEventDto> request = new Request<>(event);
-
-    log.info("Send Excerpt generation Event to Kafka");
-    var topic = kafkaProperties.getTopics().get(templateType);
-    var future = kafkaTemplate.send(topic, request);
-    future.addCallback(new ListenableFutureCallback<>() {
-
-      @Override
-      public void onSuccess(SendResult<String, Request<ExcerptEventDto>> result) {
+  /**
+   * Worst-case time {@link #send(List)} takes for a batch: one send blocked on missing metadata
+   * for {@code max.block.ms}, then the wait for acknowledgements.
+   */
+  public Duration getMaxSendDuration() {
+    return maxBlock.plus(sendTimeout);
+  }
 
+  public List<ExcerptOutboxEvent> send(List<ExcerptOutboxEvent> events) {
+    log.info("Send {} Excerpt generation Event(s) to Kafka", events.size());
+    var pending = new LinkedHashMap<ExcerptOutboxEvent, Future<?>>();
+    for (ExcerptOutboxEvent event : events) {
+      Request<ExcerptEventDto> request;
+      try {
+        request = toRequest(event);
+      } catch (RuntimeException e) {
+        log.error("Failed to send outbox event {} to Kafka", event.getId(), e);
+        continue;
       }
+      try {
+        pending.put(event, kafkaTemplate.send(event.getTopic(), request));
+      } catch (RuntimeException e) {
+        // the producer already blocked for max.block.ms, the rest of the batch would do the same
+        log.error("Failed to send outbox event {} to Kafka, postponing the rest of the batch",
+            event.getId(), e);
+        break;
+      }
+    }
 
-      @Override
-      public void onFailure(Throwable ex) {
-        newRecord.setStatus(FAILED);
-        newRecord.setStatusDetails("Failed to send data for processing");
-        recordRepository.save(newRecord);
+    var delivered = new ArrayList<ExcerptOutboxEvent>();
+    var deadline = System.nanoTime() + sendTimeout.toNanos();
+    for (var entry : pending.entrySet()) {
+      try {
+        entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        delivered.add(entry.getKey());
+      } catch (ExecutionException | TimeoutException e) {
+        log.error("Failed to send outbox event {} to Kafka", entry.getKey().getId(), e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
       }
-    });
+    }
+    return delivered;
+  }
+
+  private static Duration maxBlock(KafkaTemplate<?, ?> kafkaTemplate) {
+    var maxBlockMs = kafkaTemplate.getProducerFactory().getConfigurationProperties()
+        .get(ProducerConfig.MAX_BLOCK_MS_CONFIG);
+    return maxBlockMs == null
+        ? DEFAULT_MAX_BLOCK
+        : Duration.ofMillis(Long.parseLong(maxBlockMs.toString()));
+  }
+
+  private Request<ExcerptEventDto> toRequest(ExcerptOutboxEvent event) {
+    try {
+      return new Request<>(objectMapper.readValue(event.getPayload(), ExcerptEventDto.class));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Outbox event payload is not readable", e);
+    }
   }
 }
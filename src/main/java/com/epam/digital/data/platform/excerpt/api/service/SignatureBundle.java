@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.storage.form.dto.FormDataDto;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+class SignatureBundle {
+
+  private final Function<String, FormDataDto> loader;
+  private final Executor executor;
+  private final Map<String, CompletableFuture<FormDataDto>> signatures = new ConcurrentHashMap<>();
+
+  SignatureBundle(Function<String, FormDataDto> loader, Executor executor) {
+    this.loader = loader;
+    this.executor = executor;
+  }
+
+  CompletableFuture<FormDataDto> get(String key) {
+    return signatures.computeIfAbsent(key,
+        k -> CompletableFuture.supplyAsync(() -> loader.apply(k), executor));
+  }
+}
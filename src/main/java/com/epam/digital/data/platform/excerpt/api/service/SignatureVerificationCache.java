@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import com.epam.digital.data.platform.excerpt.api.util.HashUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SignatureVerificationCache {
+
+  static final String CACHE_NAME = "signature-verifications";
+
+  private final Cache<String, Boolean> cache;
+
+  public SignatureVerificationCache(
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.signature-verification-cache.max-size:1000}") long maxSize,
+      @Value("${excerpt.signature-verification-cache.ttl:5m}") Duration ttl) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public boolean isVerified(String signature, String data) {
+    return cache.getIfPresent(key(signature, data)) != null;
+  }
+
+  public void markVerified(String signature, String data) {
+    cache.put(key(signature, data), Boolean.TRUE);
+  }
+
+  private String key(String signature, String data) {
+    return HashUtils.sha256Hex(signature.getBytes(StandardCharsets.UTF_8),
+        data.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -26,7 +26,9 @@ public enum Header {
   X_SOURCE_SYSTEM("X-Source-System"),
   X_SOURCE_APPLICATION("X-Source-Application"),
   X_SOURCE_BUSINESS_PROCESS("X-Source-Business-Process"),
-  X_SOURCE_BUSINESS_ACTIVITY("X-Source-Business-Activity");
+  X_SOURCE_BUSINESS_ACTIVITY("X-Source-Business-Activity"),
+
+  IDEMPOTENCY_KEY("Idempotency-Key");
 
   private final String headerName;
 
@@ -16,19 +16,73 @@
 
 package com.epam.digital.data.platform.excerpt.api.util;
 
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
 import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class JwtHelper {
 
+  static final String CACHE_NAME = "jwt-claims";
+  static final String CLAIMS_ATTRIBUTE = JwtHelper.class.getName() + ".CLAIMS";
+
   private final TokenParser tokenParser;
+  private final Cache<String, JwtClaimsDto> cache;
 
-  public JwtHelper(TokenParser tokenParser) {
+  public JwtHelper(
+      TokenParser tokenParser,
+      MeterRegistry meterRegistry,
+      @Value("${excerpt.jwt-claims-cache.max-size:1000}") long maxSize,
+      @Value("${excerpt.jwt-claims-cache.ttl:5m}") Duration ttl) {
     this.tokenParser = tokenParser;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
   }
 
   public String getKeycloakId(String accessToken) {
-    return tokenParser.parseClaims(accessToken).getSubject();
+    return getClaims(accessToken).getSubject();
+  }
+
+  public JwtClaimsDto getClaims(String accessToken) {
+    var attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null) {
+      var parsed = (ParsedToken) attributes.getAttribute(CLAIMS_ATTRIBUTE,
+          RequestAttributes.SCOPE_REQUEST);
+      if (parsed != null && parsed.accessToken.equals(accessToken)) {
+        return parsed.claims;
+      }
+    }
+
+    var tokenHash = HashUtils.sha256Hex(accessToken.getBytes(StandardCharsets.UTF_8));
+    var claims = cache.get(tokenHash, key -> tokenParser.parseClaims(accessToken));
+    if (attributes != null) {
+      attributes.setAttribute(CLAIMS_ATTRIBUTE, new ParsedToken(accessToken, claims),
+          RequestAttributes.SCOPE_REQUEST);
+    }
+    return claims;
+  }
+
+  private static class ParsedToken {
+
+    private final String accessToken;
+    private final JwtClaimsDto claims;
+
+    ParsedToken(String accessToken, JwtClaimsDto claims) {
+      this.accessToken = accessToken;
+      this.claims = claims;
+    }
   }
 }
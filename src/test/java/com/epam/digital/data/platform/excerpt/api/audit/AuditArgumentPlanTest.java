@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.excerpt.api.exception.AuditException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AuditArgumentPlanTest {
+
+  @Test
+  void shouldResolveArgumentIndexByType() throws NoSuchMethodException {
+    var plan = AuditArgumentPlan.of(
+        Handler.class.getDeclaredMethod("handle", UUID.class, String.class, String.class));
+
+    assertThat(plan.indexOf(UUID.class)).isZero();
+  }
+
+  @Test
+  void shouldReuseResolvedPlan() throws NoSuchMethodException {
+    var method = Handler.class.getDeclaredMethod("handle", UUID.class, String.class, String.class);
+
+    assertThat(AuditArgumentPlan.of(method)).isSameAs(AuditArgumentPlan.of(method));
+  }
+
+  @Test
+  void shouldFailWhenArgumentTypeIsNotUnique() throws NoSuchMethodException {
+    var plan = AuditArgumentPlan.of(
+        Handler.class.getDeclaredMethod("handle", UUID.class, String.class, String.class));
+
+    assertThrows(AuditException.class, () -> plan.indexOf(String.class));
+    assertThrows(AuditException.class, () -> plan.indexOf(Integer.class));
+  }
+
+  private static class Handler {
+
+    void handle(UUID id, String first, String second) {
+    }
+  }
+}
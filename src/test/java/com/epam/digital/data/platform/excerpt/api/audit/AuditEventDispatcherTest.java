@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.epam.digital.data.platform.starter.audit.model.AuditEvent;
+import com.epam.digital.data.platform.starter.audit.model.EventType;
+import com.epam.digital.data.platform.starter.audit.service.AuditService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventDispatcherTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @Mock
+  private AuditService auditService;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void shouldSendQueuedEventsBeforeShutdown() throws InterruptedException {
+    var instance = dispatcher(10);
+    var before = event("BEFORE");
+    var after = event("AFTER");
+
+    instance.start();
+    instance.dispatch(before);
+    instance.dispatch(after);
+    instance.stop();
+
+    verify(auditService).sendAudit(before);
+    verify(auditService).sendAudit(after);
+    assertThat(count("sent")).isEqualTo(2);
+  }
+
+  @Test
+  void shouldDropEventWhenQueueIsFull() {
+    var instance = dispatcher(1);
+    var queued = event("queued");
+    var dropped = event("dropped");
+
+    instance.dispatch(queued);
+    instance.dispatch(dropped);
+
+    verify(auditService, never()).sendAudit(dropped);
+    assertThat(count("dropped")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldKeepSendingAfterFailure() throws InterruptedException {
+    var instance = dispatcher(10);
+    var failing = event("failing");
+    var next = event("next");
+    doThrow(new RuntimeException()).when(auditService).sendAudit(failing);
+
+    instance.start();
+    instance.dispatch(failing);
+    instance.dispatch(next);
+    instance.stop();
+
+    verify(auditService).sendAudit(next);
+    assertThat(count("failed")).isEqualTo(1);
+    assertThat(count("sent")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldSendDirectlyAfterShutdown() throws InterruptedException {
+    var instance = dispatcher(10);
+    var event = event("late");
+
+    instance.start();
+    instance.stop();
+    instance.dispatch(event);
+
+    verify(auditService).sendAudit(event);
+  }
+
+  private AuditEventDispatcher dispatcher(int queueCapacity) {
+    return new AuditEventDispatcher(auditService, meterRegistry, queueCapacity, 10,
+        Duration.ZERO, Duration.ofSeconds(5));
+  }
+
+  private AuditEvent event(String name) {
+    return AuditEvent.AuditEventBuilder.anAuditEvent()
+        .name(name)
+        .eventType(EventType.USER_ACTION)
+        .build();
+  }
+
+  private double count(String result) {
+    return meterRegistry.get("excerpt.audit.events").tag("result", result).counter().count();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.audit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+
+/**
+ * Compares the per-call annotation lookup the controller advice used to do with the cached
+ * descriptor lookup. Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerAuditAspectBenchmark {
+
+  private static final Set<Class<? extends Annotation>> HTTP_ANNOTATIONS =
+      Set.of(GetMapping.class, PostMapping.class);
+
+  private ControllerAuditAspect controllerAuditAspect;
+  private Method handlerMethod;
+
+  @Setup
+  public void setup() throws NoSuchMethodException {
+    controllerAuditAspect = new ControllerAuditAspect(null);
+    handlerMethod = MockHandler.class.getMethod("getExcerpt", UUID.class);
+  }
+
+  @Benchmark
+  public AuditMethodDescriptor uncachedDescriptor() {
+    var action = handlerMethod.getAnnotation(AuditableController.class).action();
+    var annotations = Arrays.stream(handlerMethod.getAnnotations())
+        .map(Annotation::annotationType)
+        .collect(Collectors.toCollection(ArrayList::new));
+    annotations.retainAll(HTTP_ANNOTATIONS);
+    return new AuditMethodDescriptor(action, annotations.get(0));
+  }
+
+  @Benchmark
+  public AuditMethodDescriptor cachedDescriptor() {
+    return controllerAuditAspect.getDescriptor(handlerMethod);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options = new OptionsBuilder()
+        .include(ControllerAuditAspectBenchmark.class.getSimpleName())
+        .build();
+    new Runner(options).run();
+  }
+
+  public static class MockHandler {
+
+    @AuditableController(action = "GET EXCERPT")
+    @GetMapping("/{id}")
+    public ResponseEntity<Void> getExcerpt(@PathVariable("id") UUID id) {
+      return ResponseEntity.ok().build();
+    }
+  }
+}
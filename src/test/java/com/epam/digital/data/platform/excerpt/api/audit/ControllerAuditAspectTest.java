@@ -43,6 +43,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -103,6 +104,22 @@ class ControllerAuditAspectTest {
   @Test
   void expectExceptionWhenControllerHasUnsupportedMappingAnnotation() {
     assertThrows(AuditException.class, () -> controller.deleteExcerpt(mockPayload()));
+    assertThrows(AuditException.class, () -> controller.deleteExcerpt(mockPayload()));
+  }
+
+  @Test
+  void expectAuditAspectOnRepeatedGetMethodCalls() {
+    when(mockService.getExcerpt(any())).thenReturn(new ByteArrayResource(new byte[] {}));
+
+    controller.getExcerpt(ENTITY_ID);
+    controller.getExcerpt(ENTITY_ID);
+
+    verify(restAuditEventsFacade, times(2))
+        .sendRestAudit(any(), eq("getExcerpt"), eq("GET EXCERPT"), eq("BEFORE"), eq(ENTITY_ID),
+            any());
+    verify(restAuditEventsFacade, times(2))
+        .sendRestAudit(any(), eq("getExcerpt"), eq("GET EXCERPT"), eq("AFTER"), eq(ENTITY_ID),
+            any());
   }
 
   @Test
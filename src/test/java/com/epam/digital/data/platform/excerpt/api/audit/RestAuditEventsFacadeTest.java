@@ -18,6 +18,7 @@ package com.epam.digital.data.platform.excerpt.api.audit;
 
 import com.epam.digital.data.platform.excerpt.api.model.audit.ExceptionAuditEvent;
 import com.epam.digital.data.platform.excerpt.api.service.TraceProvider;
+import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.starter.audit.model.AuditEvent;
 import com.epam.digital.data.platform.starter.audit.model.AuditSourceInfo;
 import com.epam.digital.data.platform.starter.audit.model.AuditUserInfo;
@@ -25,6 +26,7 @@ import com.epam.digital.data.platform.starter.audit.model.EventType;
 import com.epam.digital.data.platform.starter.audit.service.AuditService;
 import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +41,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.io.IOException;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Map;
@@ -79,6 +82,8 @@ class RestAuditEventsFacadeTest {
   private AuditSourceInfoProvider auditSourceInfoProvider;
   @Mock
   private TraceProvider traceProvider;
+  @Mock
+  private AuditEventDispatcher auditEventDispatcher;
   @Autowired
   private TokenParser tokenParser;
 
@@ -100,7 +105,9 @@ class RestAuditEventsFacadeTest {
   void beforeEach() {
     restAuditEventsFacade =
         new RestAuditEventsFacade(
-            auditService, APP_NAME, clock, traceProvider, auditSourceInfoProvider, tokenParser);
+            auditService, APP_NAME, clock, traceProvider, auditSourceInfoProvider,
+            new JwtHelper(tokenParser, new SimpleMeterRegistry(), 10, Duration.ofMinutes(5)),
+            auditEventDispatcher);
 
     when(traceProvider.getRequestId()).thenReturn(REQUEST_ID);
 
@@ -126,7 +133,7 @@ class RestAuditEventsFacadeTest {
 
     restAuditEventsFacade.sendRestAudit(EventType.USER_ACTION, METHOD_NAME, ACTION, STEP, 54, RESULT);
 
-    verify(auditService).sendAudit(auditEventCaptor.capture());
+    verify(auditEventDispatcher).dispatch(auditEventCaptor.capture());
     AuditEvent actualEvent = auditEventCaptor.getValue();
 
     var expectedEvent = AuditEvent.AuditEventBuilder.anAuditEvent()
@@ -151,7 +158,7 @@ class RestAuditEventsFacadeTest {
 
     restAuditEventsFacade.sendRestAudit(EventType.USER_ACTION, METHOD_NAME, ACTION, STEP, null, null);
 
-    verify(auditService).sendAudit(auditEventCaptor.capture());
+    verify(auditEventDispatcher).dispatch(auditEventCaptor.capture());
     AuditEvent actualEvent = auditEventCaptor.getValue();
 
     var expectedEvent = AuditEvent.AuditEventBuilder.anAuditEvent()
@@ -182,7 +189,7 @@ class RestAuditEventsFacadeTest {
 
     restAuditEventsFacade.sendExceptionAudit(exceptionAuditEvent);
 
-    verify(auditService).sendAudit(auditEventCaptor.capture());
+    verify(auditEventDispatcher).dispatch(auditEventCaptor.capture());
     AuditEvent actualEvent = auditEventCaptor.getValue();
 
     var expectedEvent = AuditEvent.AuditEventBuilder.anAuditEvent()
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SignedBodyCachingFilterTest {
+
+  private static final String BODY = "{\"excerptType\":\"type\"}";
+
+  private final SignedBodyCachingFilter filter = new SignedBodyCachingFilter(1024);
+
+  @Test
+  void shouldCacheBodyAndKeepItReadable() throws ServletException, IOException {
+    var request = request("POST", BODY);
+    var chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(request.getAttribute(SignedBodyCachingFilter.SIGNED_BODY_ATTRIBUTE))
+        .isEqualTo(BODY);
+    var forwarded = (HttpServletRequest) chain.getRequest();
+    assertThat(new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+        .isEqualTo(BODY);
+  }
+
+  @Test
+  void shouldServeCachedBodyToReadListener() throws ServletException, IOException {
+    var chain = new MockFilterChain();
+    filter.doFilter(request("POST", BODY), new MockHttpServletResponse(), chain);
+    var inputStream = ((HttpServletRequest) chain.getRequest()).getInputStream();
+    var read = new ByteArrayOutputStream();
+    var allDataRead = new AtomicBoolean();
+
+    inputStream.setReadListener(new ReadListener() {
+      @Override
+      public void onDataAvailable() throws IOException {
+        while (inputStream.isReady() && !inputStream.isFinished()) {
+          read.write(inputStream.read());
+        }
+      }
+
+      @Override
+      public void onAllDataRead() {
+        allDataRead.set(true);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        throw new AssertionError(t);
+      }
+    });
+
+    assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    assertThat(allDataRead).isTrue();
+  }
+
+  @Test
+  void shouldSkipBodyLargerThanLimit() throws ServletException, IOException {
+    var request = request("POST", "x".repeat(2048));
+    var chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(request.getAttribute(SignedBodyCachingFilter.SIGNED_BODY_ATTRIBUTE)).isNull();
+    assertThat(chain.getRequest()).isSameAs(request);
+  }
+
+  @Test
+  void shouldSkipNonPostRequest() throws ServletException, IOException {
+    var request = request("GET", BODY);
+    var chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(request.getAttribute(SignedBodyCachingFilter.SIGNED_BODY_ATTRIBUTE)).isNull();
+  }
+
+  private MockHttpServletRequest request(String method, String body) {
+    var request = new MockHttpServletRequest(method, "/excerpts");
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+}
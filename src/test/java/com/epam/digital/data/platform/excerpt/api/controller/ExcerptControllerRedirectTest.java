@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptUrl;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptDownloadStreamer;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptGenerationService;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptRetrievingService;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptStatusCheckService;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ControllerTest(ExcerptController.class)
+@TestPropertySource(properties = {"excerpt.retrieval.presigned-url.redirect=true"})
+class ExcerptControllerRedirectTest {
+
+  static final UUID ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+  static final String URL = "http://ceph/bucket/key?X-Amz-Signature=signature";
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @MockBean
+  ExcerptGenerationService excerptGenerationService;
+  @MockBean
+  ExcerptRetrievingService excerptRetrievingService;
+  @MockBean
+  ExcerptStatusCheckService excerptStatusCheckService;
+  @MockBean
+  ExcerptDownloadStreamer excerptDownloadStreamer;
+
+  @Test
+  void redirectToPresignedUrl() throws Exception {
+    when(excerptRetrievingService.getExcerptUrl(any(), any()))
+        .thenReturn(new ExcerptUrl(URL, Instant.now()));
+
+    mockMvc.perform(get("/excerpts/{id}", ID))
+        .andExpectAll(
+            status().isFound(),
+            header().string(HttpHeaders.LOCATION, URL)
+        );
+    verify(excerptRetrievingService).getExcerptUrl(any(), any());
+    verifyNoMoreInteractions(excerptRetrievingService);
+  }
+}
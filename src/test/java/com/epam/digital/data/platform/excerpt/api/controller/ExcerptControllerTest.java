@@ -17,37 +17,61 @@
 package com.epam.digital.data.platform.excerpt.api.controller;
 
 import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.FAILED;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import com.epam.digital.data.platform.excerpt.api.model.CephObjectWrapper;
+import com.epam.digital.data.platform.excerpt.api.config.DownloadConfig;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchItemResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptFile;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusBatchResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptStatusEvent;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptUrl;
+import com.epam.digital.data.platform.excerpt.api.service.ExcerptDownloadStreamer;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptGenerationService;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptRetrievingService;
 import com.epam.digital.data.platform.excerpt.api.service.ExcerptStatusCheckService;
 import com.epam.digital.data.platform.excerpt.model.ExcerptEntityId;
 
 import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.util.Collections;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.epam.digital.data.platform.excerpt.model.StatusDto;
-import com.epam.digital.data.platform.integration.ceph.model.CephObject;
-import com.epam.digital.data.platform.integration.ceph.model.CephObjectMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestBuilder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-@ControllerTest(ExcerptController.class)
+@ControllerTest({ExcerptController.class, ExcerptDownloadStreamer.class, DownloadConfig.class,
+    SimpleMeterRegistry.class})
 class ExcerptControllerTest {
 
   static final String BASE_URL = "/excerpts";
@@ -58,6 +82,7 @@ class ExcerptControllerTest {
   static final String CONTENT_DISPOSITION_HEADER_NAME = "Content-Disposition";
   static final String CONTENT_DISPOSITION_HEADER_VALUE = "attachment; filename=\"123e4567-e89b-12d3-a456-426614174000.type\"";
   static final String CONTENT_LENGTH_HEADER_NAME = "Content-Length";
+  static final String ETAG = "\"etag\"";
 
   @Autowired
   MockMvc mockMvc;
@@ -85,6 +110,74 @@ class ExcerptControllerTest {
         );
   }
 
+  @Test
+  void awaitStatus() throws Exception {
+    var result = new DeferredResult<StatusDto>();
+    result.setResult(new StatusDto(FAILED, "some details"));
+    when(excerptStatusCheckService.awaitStatus(ID, Duration.ofSeconds(20))).thenReturn(result);
+
+    performAsync(get(BASE_URL + "/{id}/status", ID).param("waitSeconds", "20"))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            jsonPath("$.status", is(FAILED.toString()))
+        );
+  }
+
+  @Test
+  void getStatuses() throws Exception {
+    var missingId = UUID.randomUUID();
+    when(excerptStatusCheckService.getStatuses(List.of(ID, missingId)))
+        .thenReturn(new ExcerptStatusBatchResult(
+            Map.of(ID, new StatusDto(FAILED, "some details")), List.of(missingId)));
+
+    mockMvc.perform(post(BASE_URL + "/status")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"excerptIds\": [\"" + ID + "\", \"" + missingId + "\"]}"))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            jsonPath("$.statuses['" + ID + "'].status", is(FAILED.toString())),
+            jsonPath("$.notFound[0]", is(missingId.toString()))
+        );
+  }
+
+  @Test
+  void rejectEmptyStatusBatch() throws Exception {
+    mockMvc.perform(post(BASE_URL + "/status")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"excerptIds\": []}"))
+        .andExpect(status().is4xxClientError());
+  }
+
+  @Test
+  void getStatusEvents() throws Exception {
+    var emitter = new SseEmitter();
+    emitter.send(SseEmitter.event().name("status")
+        .data(new ExcerptStatusEvent(ID, FAILED, "some details")));
+    emitter.complete();
+    when(excerptStatusCheckService.streamStatus(List.of(ID))).thenReturn(emitter);
+
+    performAsync(get(BASE_URL + "/{id}/events", ID))
+        .andExpectAll(
+            status().isOk(),
+            content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM),
+            content().string(containsString("event:status")),
+            content().string(containsString("\"status\":\"FAILED\""))
+        );
+  }
+
+  @Test
+  void rejectTooManyStatusEventIds() throws Exception {
+    var ids = IntStream.range(0, 101)
+        .mapToObj(i -> UUID.randomUUID().toString())
+        .collect(Collectors.joining(","));
+
+    mockMvc.perform(get(BASE_URL + "/events").param("ids", ids))
+        .andExpect(status().isUnprocessableEntity());
+    verify(excerptStatusCheckService, never()).streamStatus(any());
+  }
+
   @Test
   void getGeneratedId() throws Exception {
     when(excerptGenerationService.generateExcerpt(any(), any(), any()))
@@ -104,25 +197,160 @@ class ExcerptControllerTest {
         );
   }
 
+  @Test
+  void getBatchResults() throws Exception {
+    when(excerptGenerationService.generateExcerpts(any(), any(), any()))
+        .thenReturn(List.of(
+            ExcerptBatchItemResult.success(ID),
+            ExcerptBatchItemResult.failure("TEMPLATE_NOT_FOUND", "Template not found: missing")));
+
+    mockMvc.perform(post(BASE_URL + "/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(
+            "{\"excerpts\": ["
+              + "{\"excerptType\": \"test_type\", \"excerptInputData\": {\"field\": \"data\"}},"
+              + "{\"excerptType\": \"missing\", \"excerptInputData\": {}}]}"
+        ))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            jsonPath("$[0].excerptIdentifier", is(ID.toString())),
+            jsonPath("$[1].code", is("TEMPLATE_NOT_FOUND"))
+        );
+  }
+
+  @Test
+  void rejectEmptyBatch() throws Exception {
+    mockMvc.perform(post(BASE_URL + "/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"excerpts\": []}"))
+        .andExpect(status().is4xxClientError());
+  }
+
   @Test
   void getExcerpt() throws Exception {
-    InputStream excerptContent = new ByteArrayInputStream("test".getBytes());
-    var excerpt = CephObject.builder()
-            .content(excerptContent)
-            .metadata(CephObjectMetadata.builder()
-                    .contentLength(EXCERPT_CONTENT_LENGTH)
-                    .userMetadata(Collections.singletonMap("templateType", "type"))
-                    .build())
-            .build();
     when(excerptRetrievingService.getExcerpt(any(), any()))
-        .thenReturn(new CephObjectWrapper(excerpt, "type"));
+        .thenReturn(new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG,
+            new ByteArrayInputStream("test".getBytes())));
 
-    mockMvc.perform(get(BASE_URL + "/{id}", ID))
+    performAsync(get(BASE_URL + "/{id}", ID))
         .andExpectAll(
             status().isOk(),
             content().contentType(MediaType.APPLICATION_OCTET_STREAM),
+            content().string("test"),
             header().longValue(CONTENT_LENGTH_HEADER_NAME, EXCERPT_CONTENT_LENGTH),
-            header().string(CONTENT_DISPOSITION_HEADER_NAME, CONTENT_DISPOSITION_HEADER_VALUE)
+            header().string(CONTENT_DISPOSITION_HEADER_NAME, CONTENT_DISPOSITION_HEADER_VALUE),
+            header().string(HttpHeaders.ETAG, ETAG),
+            header().string(HttpHeaders.ACCEPT_RANGES, "bytes")
         );
   }
+
+  @Test
+  void getExcerptRange() throws Exception {
+    var excerpt = new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG, null);
+    when(excerptRetrievingService.getExcerptMetadata(any(), any())).thenReturn(excerpt);
+    when(excerptRetrievingService.getExcerptContent(excerpt, 1, 2))
+        .thenReturn(new ByteArrayInputStream("es".getBytes()));
+
+    performAsync(get(BASE_URL + "/{id}", ID).header(HttpHeaders.RANGE, "bytes=1-2"))
+        .andExpectAll(
+            status().isPartialContent(),
+            header().longValue(CONTENT_LENGTH_HEADER_NAME, 2),
+            header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-2/4"),
+            content().string("es")
+        );
+  }
+
+  @Test
+  void getWholeExcerptWhenIfRangeDoesNotMatch() throws Exception {
+    var excerpt = new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG, null);
+    when(excerptRetrievingService.getExcerptMetadata(any(), any())).thenReturn(excerpt);
+    when(excerptRetrievingService.getExcerptContent(excerpt))
+        .thenReturn(new ByteArrayInputStream("test".getBytes()));
+
+    performAsync(get(BASE_URL + "/{id}", ID)
+            .header(HttpHeaders.RANGE, "bytes=1-2")
+            .header(HttpHeaders.IF_RANGE, "\"outdated\""))
+        .andExpectAll(
+            status().isOk(),
+            content().string("test")
+        );
+  }
+
+  @Test
+  void rejectUnsatisfiableRange() throws Exception {
+    when(excerptRetrievingService.getExcerptMetadata(any(), any()))
+        .thenReturn(new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG, null));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ID).header(HttpHeaders.RANGE, "bytes=10-20"))
+        .andExpectAll(
+            status().isRequestedRangeNotSatisfiable(),
+            header().string(HttpHeaders.CONTENT_RANGE, "bytes */4")
+        );
+    verify(excerptRetrievingService, never()).getExcerptContent(any(), anyLong(), anyLong());
+  }
+
+  @Test
+  void getNotModifiedWhenETagMatches() throws Exception {
+    when(excerptRetrievingService.getExcerptMetadata(any(), any()))
+        .thenReturn(new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG, null));
+
+    mockMvc.perform(get(BASE_URL + "/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+        .andExpectAll(
+            status().isNotModified(),
+            header().string(HttpHeaders.ETAG, ETAG)
+        );
+    verify(excerptRetrievingService, never()).getExcerptContent(any());
+  }
+
+  @Test
+  void getExcerptUrl() throws Exception {
+    when(excerptRetrievingService.getExcerptUrl(any(), any()))
+        .thenReturn(new ExcerptUrl("http://ceph/bucket/key", Instant.parse("2023-01-01T00:05:00Z")));
+
+    mockMvc.perform(get(BASE_URL + "/{id}/url", ID))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            jsonPath("$.url", is("http://ceph/bucket/key")),
+            jsonPath("$.expiresAt", is("2023-01-01T00:05:00Z"))
+        );
+  }
+
+  @Test
+  void getExcerptFromCachedFile(@TempDir Path directory) throws Exception {
+    var file = Files.writeString(directory.resolve("cached"), "test");
+    when(excerptRetrievingService.getExcerpt(any(), any()))
+        .thenReturn(new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG, null, file));
+
+    performAsync(get(BASE_URL + "/{id}", ID))
+        .andExpectAll(
+            status().isOk(),
+            header().longValue(CONTENT_LENGTH_HEADER_NAME, EXCERPT_CONTENT_LENGTH),
+            content().string("test")
+        );
+    verify(excerptRetrievingService).recordServedFromCache(EXCERPT_CONTENT_LENGTH);
+  }
+
+  @Test
+  void getExcerptRangeFromCachedFile(@TempDir Path directory) throws Exception {
+    var file = Files.writeString(directory.resolve("cached"), "test");
+    when(excerptRetrievingService.getExcerptMetadata(any(), any()))
+        .thenReturn(new ExcerptFile("key", "type", EXCERPT_CONTENT_LENGTH, ETAG, null, file));
+
+    performAsync(get(BASE_URL + "/{id}", ID).header(HttpHeaders.RANGE, "bytes=1-2"))
+        .andExpectAll(
+            status().isPartialContent(),
+            header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-2/4"),
+            content().string("es")
+        );
+    verify(excerptRetrievingService).recordServedFromCache(2);
+  }
+
+  private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+    var mvcResult = mockMvc.perform(requestBuilder)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    return mockMvc.perform(asyncDispatch(mvcResult));
+  }
 }
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +41,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -287,6 +289,19 @@ class ApplicationExceptionHandlerTest extends ResponseEntityExceptionHandler {
             jsonPath("$.code").value(is(FORBIDDEN_OPERATION)));
   }
 
+  @Test
+  void shouldReturn503WhenDownloadLimitExceeded() throws Exception {
+    when(mockService.getExcerpt(any()))
+        .thenThrow(new DownloadLimitExceededException("Too many concurrent excerpt downloads"));
+
+    mockMvc
+        .perform(get(BASE_URL + "/{id}", ENTITY_ID))
+        .andExpectAll(
+            status().isServiceUnavailable(),
+            header().string(HttpHeaders.RETRY_AFTER, "1"),
+            jsonPath("$.code").value(is("TOO_MANY_DOWNLOADS")));
+  }
+
   @Test
   void shouldReturn422WithBodyWhenMethodArgumentNotValid() throws Exception {
     var inputBody = new MockEntity();
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CephSignatureCopierTest {
+
+  private static final String KEY = "signature-key";
+  private static final String SOURCE_BUCKET = "lowcode";
+  private static final String TARGET_BUCKET = "datafactory";
+
+  @Mock
+  private AmazonS3 s3Client;
+
+  private CephSignatureCopier instance;
+
+  @BeforeEach
+  void beforeEach() {
+    instance = new CephSignatureCopier(s3Client, SOURCE_BUCKET, TARGET_BUCKET);
+  }
+
+  @Test
+  void shouldCopyObjectBetweenBuckets() {
+    assertThat(instance.copy(KEY)).isTrue();
+
+    verify(s3Client).copyObject(SOURCE_BUCKET, KEY, TARGET_BUCKET, KEY);
+  }
+
+  @Test
+  void shouldReportFailedCopy() {
+    when(s3Client.copyObject(SOURCE_BUCKET, KEY, TARGET_BUCKET, KEY))
+        .thenThrow(new AmazonS3Exception("Access Denied"));
+
+    assertThat(instance.copy(KEY)).isFalse();
+  }
+}
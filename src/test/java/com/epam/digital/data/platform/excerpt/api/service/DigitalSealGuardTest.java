@@ -0,0 +1,225 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.epam.digital.data.platform.dso.api.dto.ErrorDto;
+import com.epam.digital.data.platform.dso.client.exception.BadRequestException;
+import com.epam.digital.data.platform.excerpt.api.exception.KepServiceInternalServerErrorException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DigitalSealGuardTest {
+
+  private static final Instant NOW = Instant.parse("2023-01-01T00:00:00Z");
+
+  private SimpleMeterRegistry meterRegistry;
+  private Clock clock;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    clock = Mockito.mock(Clock.class);
+    Mockito.lenient().when(clock.millis()).thenReturn(NOW.toEpochMilli());
+  }
+
+  @Test
+  void shouldOpenCircuitAfterFailureRateIsReached() {
+    var guard = guard(Duration.ofSeconds(5));
+
+    fail(guard);
+    fail(guard);
+    fail(guard);
+    succeed(guard);
+
+    assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.OPEN);
+    assertThrows(KepServiceInternalServerErrorException.class, () -> succeed(guard));
+    assertThat(meterRegistry.get("excerpt.dso.rejected").tag("reason", "circuit").counter()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("excerpt.dso.circuit.state").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCountBadRequestAsFailure() {
+    var guard = guard(Duration.ofSeconds(5));
+
+    for (int i = 0; i < 4; i++) {
+      assertThrows(BadRequestException.class, () -> guard.call(() -> {
+        throw new BadRequestException(ErrorDto.builder().code("code").message("error").build());
+      }));
+    }
+
+    assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.CLOSED);
+  }
+
+  @Test
+  void shouldCloseCircuitAfterSuccessfulTrialCall() {
+    var guard = guard(Duration.ofSeconds(5));
+    for (int i = 0; i < 4; i++) {
+      fail(guard);
+    }
+
+    Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(6).toEpochMilli());
+    succeed(guard);
+
+    assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.CLOSED);
+  }
+
+  @Test
+  void shouldReopenCircuitAfterFailedTrialCall() {
+    var guard = guard(Duration.ofSeconds(5));
+    for (int i = 0; i < 4; i++) {
+      fail(guard);
+    }
+
+    Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(6).toEpochMilli());
+    fail(guard);
+
+    assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.OPEN);
+  }
+
+  @Test
+  void shouldRejectCallsAboveConcurrencyLimit() throws InterruptedException {
+    var guard = guard(Duration.ofSeconds(5));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> guard.call(() -> {
+        started.countDown();
+        await(release);
+        return null;
+      }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThrows(KepServiceInternalServerErrorException.class, () -> succeed(guard));
+      assertThat(meterRegistry.get("excerpt.dso.rejected").tag("reason", "bulkhead").counter()
+          .count()).isEqualTo(1);
+      assertThat(meterRegistry.get("excerpt.dso.bulkhead.active").gauge().value()).isEqualTo(1);
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldIgnoreCallStartedBeforeCircuitOpenedWhenHalfOpen() throws Exception {
+    var guard = guard(2, Duration.ZERO);
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      var staleCall = executor.submit(() -> guard.call(() -> {
+        started.countDown();
+        await(release);
+        throw new IllegalStateException();
+      }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      for (int i = 0; i < 4; i++) {
+        fail(guard);
+      }
+      assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.OPEN);
+
+      Mockito.when(clock.millis()).thenReturn(NOW.plusSeconds(6).toEpochMilli());
+      guard.call(() -> {
+        release.countDown();
+        assertThrows(ExecutionException.class, () -> staleCall.get(5, TimeUnit.SECONDS));
+        assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.HALF_OPEN);
+        return "ok";
+      });
+
+      assertThat(guard.getState()).isEqualTo(DigitalSealGuard.State.CLOSED);
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldWaitForFreeSlotUpToMaxWait() throws InterruptedException {
+    var guard = guard(1, Duration.ofSeconds(5));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      executor.submit(() -> guard.call(() -> {
+        started.countDown();
+        await(release);
+        return null;
+      }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      executor.submit(() -> {
+        sleep(100);
+        release.countDown();
+      });
+
+      assertThat(guard.call(() -> "ok")).isEqualTo("ok");
+      assertThat(meterRegistry.get("excerpt.dso.rejected").tag("reason", "bulkhead").counter()
+          .count()).isZero();
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  private DigitalSealGuard guard(Duration openDuration) {
+    return new DigitalSealGuard(meterRegistry, clock, 1, Duration.ZERO, 50, 4, 4,
+        Duration.ofSeconds(5), openDuration);
+  }
+
+  private DigitalSealGuard guard(int maxConcurrentCalls, Duration maxWait) {
+    return new DigitalSealGuard(meterRegistry, clock, maxConcurrentCalls, maxWait, 50, 4, 4,
+        Duration.ofSeconds(5), Duration.ofSeconds(5));
+  }
+
+  private void succeed(DigitalSealGuard guard) {
+    guard.call(() -> "ok");
+  }
+
+  private void fail(DigitalSealGuard guard) {
+    assertThrows(IllegalStateException.class, () -> guard.call(() -> {
+      throw new IllegalStateException();
+    }));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,6 +32,7 @@ import com.epam.digital.data.platform.dso.client.DigitalSealRestClient;
 import com.epam.digital.data.platform.dso.client.exception.BadRequestException;
 import com.epam.digital.data.platform.dso.client.exception.InternalServerErrorException;
 import com.epam.digital.data.platform.dso.client.exception.InvalidSignatureException;
+import com.epam.digital.data.platform.excerpt.api.config.SignedBodyCachingFilter;
 import com.epam.digital.data.platform.excerpt.api.exception.DigitalSignatureNotFoundException;
 import com.epam.digital.data.platform.excerpt.api.exception.KepServiceBadRequestException;
 import com.epam.digital.data.platform.excerpt.api.exception.KepServiceInternalServerErrorException;
@@ -39,9 +42,14 @@ import com.epam.digital.data.platform.storage.form.dto.FormDataDto;
 import com.epam.digital.data.platform.storage.form.service.FormDataStorageService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,11 +58,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @ExtendWith(MockitoExtension.class)
 class DigitalSignatureServiceTest {
 
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String X_DIG_SIG = "xDigitalSignatureHeader";
   private static final String X_DIG_SIG_DERIVED = "xDigitalSignatureHeaderDerived";
   private static final FormDataDto RESPONSE_FROM_CEPH = FormDataDto.builder()
       .signature("signature")
@@ -76,11 +89,16 @@ class DigitalSignatureServiceTest {
   private FormDataStorageService datafactoryExcerptDataStorageService;
   @Mock
   private DigitalSealRestClient digitalSealRestClient;
+  @Mock
+  private CephSignatureCopier cephSignatureCopier;
 
   @Captor
   private ArgumentCaptor<VerificationRequestDto> requestCaptor;
 
   private DigitalSignatureService digitalSignatureService;
+  private SimpleMeterRegistry meterRegistry;
+  private ThreadPoolTaskExecutor signatureExecutor;
+  private DigitalSealGuard digitalSealGuard;
 
   @BeforeAll
   static void setup() throws JsonProcessingException {
@@ -89,19 +107,34 @@ class DigitalSignatureServiceTest {
 
   @BeforeEach
   void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    signatureExecutor = new ThreadPoolTaskExecutor();
+    signatureExecutor.setCorePoolSize(3);
+    signatureExecutor.initialize();
+    digitalSealGuard = new DigitalSealGuard(meterRegistry, Clock.systemUTC(), 20, Duration.ZERO,
+        50, 10, 20, Duration.ofSeconds(5), Duration.ofSeconds(30));
     digitalSignatureService = new DigitalSignatureService(lowcodeFormDataStorageService,
         datafactoryExcerptDataStorageService,
-        digitalSealRestClient, OBJECT_MAPPER);
+        digitalSealRestClient, OBJECT_MAPPER,
+        new SignatureVerificationCache(meterRegistry, 10, Duration.ofMinutes(5)), meterRegistry,
+        Optional.empty(), signatureExecutor, digitalSealGuard);
 
+    lenient().when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG))
+        .thenReturn(Optional.of(RESPONSE_FROM_CEPH));
     lenient().when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG_DERIVED))
         .thenReturn(Optional.of(RESPONSE_FROM_CEPH));
   }
 
+  @AfterEach
+  void tearDown() {
+    signatureExecutor.shutdown();
+  }
+
   @Test
   void validSignatureTest() {
     when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
 
-    digitalSignatureService.checkSignature(DATA_OBJ, X_DIG_SIG_DERIVED);
+    checkAndSaveSignatures();
 
     verify(digitalSealRestClient).verify(requestCaptor.capture());
 
@@ -109,6 +142,46 @@ class DigitalSignatureServiceTest {
     assertEquals(DATA_STR, requestCaptor.getValue().getData());
   }
 
+  @Test
+  void shouldVerifyCapturedRequestBody() {
+    var request = new MockHttpServletRequest();
+    request.setAttribute(SignedBodyCachingFilter.SIGNED_BODY_ATTRIBUTE, "raw body");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
+
+    try {
+      checkAndSaveSignatures();
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+
+    verify(digitalSealRestClient).verify(requestCaptor.capture());
+    assertEquals("raw body", requestCaptor.getValue().getData());
+  }
+
+  @Test
+  void shouldVerifySameSignatureAndDataOnlyOnce() {
+    when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
+
+    checkAndSaveSignatures();
+    checkAndSaveSignatures();
+
+    verify(digitalSealRestClient).verify(any());
+    assertEquals(1, meterRegistry.get("excerpt.signature.verify.remote").timer().count());
+    assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+  }
+
+  @Test
+  void shouldNotCacheInvalidSignature() {
+    when(digitalSealRestClient.verify(any()))
+        .thenReturn(new VerificationResponseDto(false, errorDto));
+
+    assertThrows(InvalidSignatureException.class, this::checkAndSaveSignatures);
+    assertThrows(InvalidSignatureException.class, this::checkAndSaveSignatures);
+
+    verify(digitalSealRestClient, times(2)).verify(any());
+  }
+
   @Test
   void shouldThrowInvalidSignatureException() {
     when(digitalSealRestClient.verify(any())).
@@ -116,7 +189,7 @@ class DigitalSignatureServiceTest {
 
     String exceptionMessage = null;
     try {
-      digitalSignatureService.checkSignature(DATA_OBJ, X_DIG_SIG_DERIVED);
+      checkAndSaveSignatures();
     } catch (InvalidSignatureException e) {
       exceptionMessage = e.getMessage();
     }
@@ -133,51 +206,112 @@ class DigitalSignatureServiceTest {
     when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG_DERIVED))
         .thenThrow(new CephCommunicationException("", new RuntimeException()));
 
-    assertThrows(CephCommunicationException.class,
-        () -> digitalSignatureService.checkSignature(DATA_OBJ, X_DIG_SIG_DERIVED));
+    assertThrows(CephCommunicationException.class, this::checkAndSaveSignatures);
   }
 
   @Test
-  void shouldThrowExceptionWhenSignatureNotFoundInCheckSignature() {
+  void shouldThrowExceptionWhenSignatureNotFound() {
     when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG_DERIVED))
         .thenReturn(Optional.empty());
 
-    assertThrows(DigitalSignatureNotFoundException.class,
-        () -> digitalSignatureService.checkSignature(DATA_OBJ, X_DIG_SIG_DERIVED));
-  }
-
-  @Test
-  void shouldThrowExceptionWhenSignatureNotFoundInSaveSignature() {
-    when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG_DERIVED))
-        .thenReturn(Optional.empty());
-
-    assertThrows(DigitalSignatureNotFoundException.class,
-        () -> digitalSignatureService.saveSignature(X_DIG_SIG_DERIVED));
+    assertThrows(DigitalSignatureNotFoundException.class, this::checkAndSaveSignatures);
   }
 
   @Test
   void badRequestExceptionChangedToKepServiceBadRequestException() {
     when(digitalSealRestClient.verify(any())).thenThrow(BadRequestException.class);
 
-    assertThrows(KepServiceBadRequestException.class, () -> digitalSignatureService
-        .checkSignature(DATA_OBJ, X_DIG_SIG_DERIVED));
+    assertThrows(KepServiceBadRequestException.class, this::checkAndSaveSignatures);
   }
 
   @Test
   void internalServerErrorExceptionChangedToKepServiceInternalServerErrorException() {
     when(digitalSealRestClient.verify(any())).thenThrow(new InternalServerErrorException(errorDto));
 
-    assertThrows(KepServiceInternalServerErrorException.class, () -> digitalSignatureService
-        .checkSignature(DATA_OBJ, X_DIG_SIG_DERIVED));
+    assertThrows(KepServiceInternalServerErrorException.class, this::checkAndSaveSignatures);
   }
 
   @Test
-  void shouldCallMethodsWithAppropriateParameters() {
+  void shouldReadAndWriteSignaturesWhenServerSideCopyFails() {
+    when(cephSignatureCopier.copy(X_DIG_SIG)).thenReturn(false);
+    when(cephSignatureCopier.copy(X_DIG_SIG_DERIVED)).thenReturn(false);
+    when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
 
-    var result = digitalSignatureService.saveSignature(X_DIG_SIG_DERIVED);
+    serviceWithCopier().checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED);
 
-    verify(lowcodeFormDataStorageService).getFormData(X_DIG_SIG_DERIVED);
+    verify(datafactoryExcerptDataStorageService).putFormData(X_DIG_SIG, RESPONSE_FROM_CEPH);
     verify(datafactoryExcerptDataStorageService).putFormData(X_DIG_SIG_DERIVED, RESPONSE_FROM_CEPH);
-    assertEquals(RESPONSE_FROM_CEPH, result);
+  }
+
+  @Test
+  void shouldSaveBothSignaturesWhenVerificationSucceeds() {
+    when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
+
+    digitalSignatureService.checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED);
+
+    verify(datafactoryExcerptDataStorageService).putFormData(X_DIG_SIG, RESPONSE_FROM_CEPH);
+    verify(datafactoryExcerptDataStorageService).putFormData(X_DIG_SIG_DERIVED, RESPONSE_FROM_CEPH);
+    verify(datafactoryExcerptDataStorageService, never()).delete(any());
+    verify(lowcodeFormDataStorageService).getFormData(X_DIG_SIG);
+    verify(lowcodeFormDataStorageService).getFormData(X_DIG_SIG_DERIVED);
+    assertEquals(2, meterRegistry.get("excerpt.signature.storage.read").timer().count());
+  }
+
+  @Test
+  void shouldReadOnlyDerivedSignatureWhenCopiedOnServerSide() {
+    when(cephSignatureCopier.copy(X_DIG_SIG)).thenReturn(true);
+    when(cephSignatureCopier.copy(X_DIG_SIG_DERIVED)).thenReturn(true);
+    when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
+
+    serviceWithCopier().checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED);
+
+    verify(lowcodeFormDataStorageService).getFormData(X_DIG_SIG_DERIVED);
+    verify(lowcodeFormDataStorageService, never()).getFormData(X_DIG_SIG);
+    verify(datafactoryExcerptDataStorageService, never()).putFormData(any(), any());
+  }
+
+  @Test
+  void shouldDeleteCopiedSignaturesWhenVerificationFails() {
+    when(digitalSealRestClient.verify(any()))
+        .thenReturn(new VerificationResponseDto(false, errorDto));
+
+    assertThrows(InvalidSignatureException.class, () -> digitalSignatureService
+        .checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED));
+
+    verify(datafactoryExcerptDataStorageService).delete(Set.of(X_DIG_SIG, X_DIG_SIG_DERIVED));
+  }
+
+  @Test
+  void shouldDeleteOnlySuccessfullyCopiedSignaturesWhenVerificationFails() {
+    when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG)).thenReturn(Optional.empty());
+    when(digitalSealRestClient.verify(any()))
+        .thenReturn(new VerificationResponseDto(false, errorDto));
+
+    assertThrows(InvalidSignatureException.class, () -> digitalSignatureService
+        .checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED));
+
+    verify(datafactoryExcerptDataStorageService).delete(Set.of(X_DIG_SIG_DERIVED));
+  }
+
+  @Test
+  void shouldFailWhenCopyFailsAfterSuccessfulVerification() {
+    when(lowcodeFormDataStorageService.getFormData(X_DIG_SIG)).thenReturn(Optional.empty());
+    when(digitalSealRestClient.verify(any())).thenReturn(new VerificationResponseDto(true, null));
+
+    assertThrows(DigitalSignatureNotFoundException.class, () -> digitalSignatureService
+        .checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED));
+
+    verify(datafactoryExcerptDataStorageService, never()).delete(any());
+  }
+
+  private void checkAndSaveSignatures() {
+    digitalSignatureService.checkAndSaveSignatures(DATA_OBJ, X_DIG_SIG, X_DIG_SIG_DERIVED);
+  }
+
+  private DigitalSignatureService serviceWithCopier() {
+    return new DigitalSignatureService(lowcodeFormDataStorageService,
+        datafactoryExcerptDataStorageService, digitalSealRestClient, OBJECT_MAPPER,
+        new SignatureVerificationCache(meterRegistry, 10, Duration.ofMinutes(5)), meterRegistry,
+        Optional.of(cephSignatureCopier), signatureExecutor, digitalSealGuard);
   }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptContentHashRepository;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExcerptDeduplicationServiceTest {
+
+  private ExcerptDeduplicationService instance;
+
+  @Mock
+  private ExcerptContentHashRepository contentHashRepository;
+
+  @BeforeEach
+  void beforeEach() {
+    instance = new ExcerptDeduplicationService(contentHashRepository, new ObjectMapper(),
+        Set.of("registry-reference"), Duration.ofHours(1));
+  }
+
+  @Test
+  void shouldBeEnabledOnlyForConfiguredTemplates() {
+    assertThat(instance.isEnabled("registry-reference")).isTrue();
+    assertThat(instance.isEnabled("personal-excerpt")).isFalse();
+  }
+
+  @Test
+  void shouldProduceSameHashRegardlessOfInputDataOrder() {
+    var first = new LinkedHashMap<String, Object>();
+    first.put("a", 1);
+    first.put("b", Map.of("c", "d"));
+    var second = new LinkedHashMap<String, Object>();
+    second.put("b", Map.of("c", "d"));
+    second.put("a", 1);
+
+    assertThat(instance.contentHash(event(first, false)))
+        .isEqualTo(instance.contentHash(event(second, false)))
+        .hasSize(64);
+  }
+
+  @Test
+  void shouldProduceDifferentHashForSignedExcerpt() {
+    var data = Map.<String, Object>of("a", 1);
+
+    assertThat(instance.contentHash(event(data, false)))
+        .isNotEqualTo(instance.contentHash(event(data, true)));
+  }
+
+  @Test
+  void shouldFindMostRecentCompletedRecord() {
+    var completed = new ExcerptRecord();
+    completed.setExcerptKey("excerpt-key");
+    when(contentHashRepository.findRecentRecords(eq("hash"), any(), eq(COMPLETED), any()))
+        .thenReturn(List.of(completed));
+
+    assertThat(instance.findCompletedRecord("hash")).contains(completed);
+  }
+
+  private ExcerptEventDto event(Map<String, Object> data, boolean requiresSystemSignature) {
+    return new ExcerptEventDto(null, "registry-reference", data, requiresSystemSignature);
+  }
+}
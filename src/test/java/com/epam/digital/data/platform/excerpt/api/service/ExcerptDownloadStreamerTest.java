@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.epam.digital.data.platform.excerpt.api.exception.DownloadLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+class ExcerptDownloadStreamerTest {
+
+  private ExcerptDownloadStreamer instance;
+  private ThreadPoolTaskExecutor executor;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void beforeEach() {
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.initialize();
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new ExcerptDownloadStreamer(executor, meterRegistry, DataSize.ofBytes(3),
+        Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void afterEach() {
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldStreamWholeContentWithSmallBuffer() throws Exception {
+    var mockMvc = downloadOf((streamer, request) ->
+        streamer.stream(request, new ByteArrayInputStream("excerpt".getBytes())));
+
+    var mvcResult = mockMvc.perform(get("/download"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(header().string("X-Excerpt", "test"))
+        .andExpect(content().string("excerpt"));
+
+    assertThat(meterRegistry.get("excerpt.download.bytes").counter().count()).isEqualTo(7);
+    assertThat(meterRegistry.get("excerpt.download.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldStreamFileRegion(@TempDir Path directory) throws Exception {
+    var file = Files.writeString(directory.resolve("excerpt"), "excerpt");
+    var done = new AtomicBoolean();
+    var mockMvc = downloadOf((streamer, request) ->
+        streamer.stream(request, file, 2, 4, () -> done.set(true)));
+
+    var mvcResult = mockMvc.perform(get("/download"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(content().string("cerp"));
+    assertThat(done).isTrue();
+  }
+
+  @Test
+  void shouldRejectDownloadWhenExecutorIsSaturated() throws Exception {
+    var release = new CountDownLatch(1);
+    executor.execute(() -> awaitQuietly(release));
+    executor.execute(() -> awaitQuietly(release));
+    var closed = new AtomicBoolean();
+    InputStream content = new ByteArrayInputStream("excerpt".getBytes()) {
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    var mockMvc = downloadOf((streamer, request) -> streamer.stream(request, content));
+
+    MvcResult mvcResult;
+    try {
+      mvcResult = mockMvc.perform(get("/download")).andReturn();
+    } finally {
+      release.countDown();
+    }
+
+    assertThat(mvcResult.getAsyncResult()).isInstanceOf(DownloadLimitExceededException.class);
+    assertThat(closed).isTrue();
+    assertThat(meterRegistry.get("excerpt.download.rejected").counter().count()).isEqualTo(1);
+  }
+
+  private MockMvc downloadOf(Download download) {
+    return MockMvcBuilders.standaloneSetup(new DownloadController(instance, download)).build();
+  }
+
+  private void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @FunctionalInterface
+  interface Download {
+
+    ResponseBodyEmitter start(ExcerptDownloadStreamer streamer, HttpServletRequest request);
+  }
+
+  @RequestMapping("/download")
+  static class DownloadController {
+
+    private final ExcerptDownloadStreamer streamer;
+    private final Download download;
+
+    DownloadController(ExcerptDownloadStreamer streamer, Download download) {
+      this.streamer = streamer;
+      this.download = download;
+    }
+
+    @GetMapping
+    public ResponseEntity<ResponseBodyEmitter> download(HttpServletRequest request) {
+      return ResponseEntity.ok()
+          .header("X-Excerpt", "test")
+          .body(download.start(streamer, request));
+    }
+  }
+}
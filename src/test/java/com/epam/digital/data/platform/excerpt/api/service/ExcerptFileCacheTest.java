@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class ExcerptFileCacheTest {
+
+  private static final String ETAG = "\"etag\"";
+
+  @TempDir
+  Path directory;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ExcerptFileCache instance;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new ExcerptFileCache(meterRegistry, true, directory, DataSize.ofBytes(10),
+        DataSize.ofBytes(8));
+  }
+
+  @Test
+  void shouldCacheFullyReadExcerpt() throws IOException {
+    readFully(instance.cacheWhileReading("key", 4, ETAG, content("test")));
+
+    var cachedFile = instance.acquire("key");
+
+    assertThat(cachedFile).isPresent();
+    assertThat(Files.readString(cachedFile.get().getPath())).isEqualTo("test");
+    assertThat(cachedFile.get().getContentLength()).isEqualTo(4);
+    assertThat(cachedFile.get().getETag()).isEqualTo(ETAG);
+    assertThat(meterRegistry.get("excerpt.file.cache.requests").tag("result", "hit").counter()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCachePartiallyReadExcerpt() throws IOException {
+    try (var stream = instance.cacheWhileReading("key", 4, ETAG, content("test"))) {
+      stream.read(new byte[2]);
+    }
+
+    assertThat(instance.acquire("key")).isEmpty();
+    assertThat(directory).isEmptyDirectory();
+  }
+
+  @Test
+  void shouldNotCacheExcerptLargerThanFileLimit() throws IOException {
+    var content = content("too large");
+
+    assertThat(instance.cacheWhileReading("key", 9, ETAG, content)).isSameAs(content);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedExcerptWhenSizeLimitExceeded() throws IOException {
+    readFully(instance.cacheWhileReading("first", 4, ETAG, content("1111")));
+    readFully(instance.cacheWhileReading("second", 4, ETAG, content("2222")));
+    instance.acquire("first");
+
+    readFully(instance.cacheWhileReading("third", 4, ETAG, content("3333")));
+
+    assertThat(instance.acquire("first")).isPresent();
+    assertThat(instance.acquire("second")).isEmpty();
+    assertThat(instance.acquire("third")).isPresent();
+    assertThat(instance.size()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldKeepEvictedFileUntilReleased() throws IOException {
+    readFully(instance.cacheWhileReading("first", 4, ETAG, content("1111")));
+    var inUse = instance.acquire("first").orElseThrow();
+    readFully(instance.cacheWhileReading("second", 4, ETAG, content("2222")));
+
+    readFully(instance.cacheWhileReading("third", 4, ETAG, content("3333")));
+
+    assertThat(instance.acquire("first")).isEmpty();
+    assertThat(inUse.getPath()).hasContent("1111");
+    inUse.release();
+    assertThat(inUse.getPath()).doesNotExist();
+  }
+
+  @Test
+  void shouldDeleteEvictedFileRightAwayWhenNotInUse() throws IOException {
+    readFully(instance.cacheWhileReading("first", 4, ETAG, content("1111")));
+    var released = instance.acquire("first").orElseThrow();
+    released.release();
+    readFully(instance.cacheWhileReading("second", 4, ETAG, content("2222")));
+
+    readFully(instance.cacheWhileReading("third", 4, ETAG, content("3333")));
+
+    assertThat(released.getPath()).doesNotExist();
+  }
+
+  @Test
+  void shouldPassContentThroughWhenDisabled() throws IOException {
+    var disabled = new ExcerptFileCache(meterRegistry, false, directory, DataSize.ofBytes(10),
+        DataSize.ofBytes(8));
+    var content = content("test");
+
+    assertThat(disabled.cacheWhileReading("key", 4, ETAG, content)).isSameAs(content);
+    assertThat(disabled.get("key")).isEmpty();
+  }
+
+  private InputStream content(String content) {
+    return new ByteArrayInputStream(content.getBytes());
+  }
+
+  private void readFully(InputStream stream) throws IOException {
+    try (stream) {
+      stream.readAllBytes();
+    }
+  }
+}
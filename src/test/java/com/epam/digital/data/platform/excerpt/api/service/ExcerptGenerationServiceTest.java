@@ -17,11 +17,13 @@
 package com.epam.digital.data.platform.excerpt.api.service;
 
 import com.epam.digital.data.platform.excerpt.api.exception.ExcerptProcessingException;
+import com.epam.digital.data.platform.excerpt.api.exception.IdempotencyKeyReusedException;
 import com.epam.digital.data.platform.excerpt.api.exception.MandatoryHeaderMissingException;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchItemResult;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptBatchRequest;
 import com.epam.digital.data.platform.excerpt.api.model.RequestContext;
 import com.epam.digital.data.platform.excerpt.api.model.SecurityContext;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
-import com.epam.digital.data.platform.excerpt.api.repository.TemplateRepository;
 import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptTemplate;
@@ -29,17 +31,25 @@ import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -54,9 +64,15 @@ class ExcerptGenerationServiceTest {
   @Mock
   RecordRepository recordRepository;
   @Mock
-  TemplateRepository templateRepository;
+  ExcerptTemplateCache excerptTemplateCache;
   @Mock
-  KafkaHelper kafkaHelper;
+  ExcerptOutboxService excerptOutboxService;
+  @Mock
+  ExcerptIdempotencyService excerptIdempotencyService;
+  @Mock
+  ExcerptDeduplicationService excerptDeduplicationService;
+  @Mock
+  PlatformTransactionManager transactionManager;
   @Mock
   JwtHelper jwtHelper;
   @Mock
@@ -67,8 +83,11 @@ class ExcerptGenerationServiceTest {
     instance =
         new ExcerptGenerationService(
             recordRepository,
-            templateRepository,
-            kafkaHelper,
+            excerptTemplateCache,
+            excerptOutboxService,
+            excerptIdempotencyService,
+            excerptDeduplicationService,
+            new TransactionTemplate(transactionManager),
             jwtHelper,
             digitalSignatureService,
             true);
@@ -89,7 +108,8 @@ class ExcerptGenerationServiceTest {
         instance.generateExcerpt(buildExcerptEvent(), requestContext(), securityContext());
 
     verify(recordRepository).save(any());
-    verify(kafkaHelper).send(any(), any(), any(), any());
+    verify(excerptOutboxService).enqueue(any(), any(), any(), any());
+    verify(transactionManager).commit(any());
     assertThat(entityId.getExcerptIdentifier()).isEqualTo(ID);
   }
 
@@ -113,8 +133,11 @@ class ExcerptGenerationServiceTest {
     instance =
         new ExcerptGenerationService(
             recordRepository,
-            templateRepository,
-            kafkaHelper,
+            excerptTemplateCache,
+            excerptOutboxService,
+            excerptIdempotencyService,
+            excerptDeduplicationService,
+            new TransactionTemplate(transactionManager),
             jwtHelper,
             digitalSignatureService,
             false);
@@ -126,6 +149,137 @@ class ExcerptGenerationServiceTest {
     verifyNoInteractions(digitalSignatureService);
   }
 
+  @Test
+  void returnOriginalEntityIdForKnownIdempotencyKey() {
+    var excerptEvent = buildExcerptEvent();
+    when(jwtHelper.getKeycloakId("stub")).thenReturn("keycloakId");
+    when(excerptIdempotencyService.requestHash(excerptEvent)).thenReturn("hash");
+    when(excerptIdempotencyService.findRecordId("keycloakId", "key", "hash"))
+        .thenReturn(Optional.of(ID));
+
+    var entityId = instance.generateExcerpt(excerptEvent, requestContext("key"),
+        securityContext());
+
+    assertThat(entityId.getExcerptIdentifier()).isEqualTo(ID);
+    verify(recordRepository, never()).save(any());
+    verify(digitalSignatureService).checkAndSaveSignatures(excerptEvent, "digital_signature",
+        "digital_signature_derived");
+    verifyNoInteractions(excerptOutboxService);
+  }
+
+  @Test
+  void rejectKnownIdempotencyKeyWithDifferentRequest() {
+    var excerptEvent = buildExcerptEvent();
+    when(jwtHelper.getKeycloakId("stub")).thenReturn("keycloakId");
+    when(excerptIdempotencyService.requestHash(excerptEvent)).thenReturn("other-hash");
+    when(excerptIdempotencyService.findRecordId("keycloakId", "key", "other-hash"))
+        .thenThrow(new IdempotencyKeyReusedException("reused"));
+
+    assertThrows(IdempotencyKeyReusedException.class,
+        () -> instance.generateExcerpt(excerptEvent, requestContext("key"), securityContext()));
+
+    verify(recordRepository, never()).save(any());
+    verifyNoInteractions(excerptOutboxService);
+  }
+
+  @Test
+  void registerNewIdempotencyKey() {
+    setupExcerptFound();
+    when(jwtHelper.getKeycloakId("stub")).thenReturn("keycloakId");
+    when(excerptIdempotencyService.requestHash(any())).thenReturn("hash");
+    when(excerptIdempotencyService.findRecordId("keycloakId", "key", "hash"))
+        .thenReturn(Optional.empty());
+
+    var entityId = instance.generateExcerpt(buildExcerptEvent(), requestContext("key"),
+        securityContext());
+
+    assertThat(entityId.getExcerptIdentifier()).isEqualTo(ID);
+    verify(excerptIdempotencyService).register("keycloakId", "key", "hash", ID);
+    verify(excerptIdempotencyService).remember("keycloakId", "key", "hash", ID);
+    verify(excerptOutboxService).enqueue(any(), any(), any(), any());
+  }
+
+  @Test
+  void returnWinnerEntityIdOnConcurrentIdempotencyKeyInsert() {
+    setupExcerptFound();
+    var winnerId = UUID.randomUUID();
+    when(jwtHelper.getKeycloakId("stub")).thenReturn("keycloakId");
+    when(excerptIdempotencyService.requestHash(any())).thenReturn("hash");
+    when(excerptIdempotencyService.findRecordId("keycloakId", "key", "hash"))
+        .thenReturn(Optional.empty(), Optional.of(winnerId));
+    doThrow(new DataIntegrityViolationException("duplicate key"))
+        .when(excerptIdempotencyService).register("keycloakId", "key", "hash", ID);
+
+    var entityId = instance.generateExcerpt(buildExcerptEvent(), requestContext("key"),
+        securityContext());
+
+    assertThat(entityId.getExcerptIdentifier()).isEqualTo(winnerId);
+    verify(transactionManager).rollback(any());
+    verifyNoInteractions(excerptOutboxService);
+  }
+
+  @Test
+  void reuseCompletedExcerptForIdenticalRequest() {
+    setupExcerptFound();
+    var completed = new ExcerptRecord();
+    completed.setId(UUID.randomUUID());
+    completed.setExcerptKey("excerpt-key");
+    when(excerptDeduplicationService.isEnabled("test_type")).thenReturn(true);
+    when(excerptDeduplicationService.contentHash(any())).thenReturn("hash");
+    when(excerptDeduplicationService.findCompletedRecord("hash"))
+        .thenReturn(Optional.of(completed));
+
+    var entityId =
+        instance.generateExcerpt(buildExcerptEvent(), requestContext(), securityContext());
+
+    var captor = ArgumentCaptor.forClass(ExcerptRecord.class);
+    verify(recordRepository).save(captor.capture());
+    assertThat(captor.getValue().getStatus()).isEqualTo(COMPLETED);
+    assertThat(captor.getValue().getExcerptKey()).isEqualTo("excerpt-key");
+    assertThat(entityId.getExcerptIdentifier()).isEqualTo(ID);
+    verify(excerptDeduplicationService, never()).register(any(), any());
+    verifyNoInteractions(excerptOutboxService);
+  }
+
+  @Test
+  void registerContentHashWhenNoCompletedExcerptFound() {
+    setupExcerptFound();
+    when(excerptDeduplicationService.isEnabled("test_type")).thenReturn(true);
+    when(excerptDeduplicationService.contentHash(any())).thenReturn("hash");
+    when(excerptDeduplicationService.findCompletedRecord("hash")).thenReturn(Optional.empty());
+
+    instance.generateExcerpt(buildExcerptEvent(), requestContext(), securityContext());
+
+    verify(excerptDeduplicationService).register("hash", ID);
+    verify(excerptOutboxService).enqueue(any(), any(), any(), any());
+  }
+
+  @Test
+  void returnPerItemResultsForBatch() {
+    var record = new ExcerptRecord();
+    record.setId(ID);
+    record.setExcerptType("pdf");
+    when(recordRepository.saveAll(any())).thenReturn(List.of(record));
+    var template = new ExcerptTemplate();
+    template.setTemplateType("pdf");
+    when(excerptTemplateCache.findByName("test_type")).thenReturn(Optional.of(template));
+    when(excerptTemplateCache.findByName("missing_type")).thenReturn(Optional.empty());
+    when(jwtHelper.getKeycloakId("stub")).thenReturn("keycloakId");
+
+    var batch = new ExcerptBatchRequest(List.of(
+        buildExcerptEvent(),
+        new ExcerptEventDto(ID, "missing_type", new HashMap<>(), false)));
+    var results = instance.generateExcerpts(batch, requestContext(), securityContext());
+
+    assertThat(results).containsExactly(
+        ExcerptBatchItemResult.success(ID),
+        ExcerptBatchItemResult.failure("TEMPLATE_NOT_FOUND", "Template not found: missing_type"));
+    verify(jwtHelper).getKeycloakId("stub");
+    verify(digitalSignatureService).checkAndSaveSignatures(batch, "digital_signature",
+        "digital_signature_derived");
+    verify(excerptOutboxService).enqueue(record, "test_type", new HashMap<>(), "pdf");
+  }
+
   private void setupExcerptFound() {
     var record = new ExcerptRecord();
     record.setId(ID);
@@ -133,7 +287,7 @@ class ExcerptGenerationServiceTest {
     
     var template = new ExcerptTemplate();
     template.setTemplateType("pdf");
-    when(templateRepository.findFirstByTemplateName("test_type"))
+    when(excerptTemplateCache.findByName("test_type"))
         .thenReturn(Optional.of(template));
   }
 
@@ -149,6 +303,12 @@ class ExcerptGenerationServiceTest {
     return context;
   }
 
+  private RequestContext requestContext(String idempotencyKey) {
+    var context = requestContext();
+    context.setIdempotencyKey(idempotencyKey);
+    return context;
+  }
+
   private RequestContext requestContext() {
     var context = new RequestContext();
     context.setSourceSystem("source_system");
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptIdempotencyKey;
+import com.epam.digital.data.platform.excerpt.api.exception.IdempotencyKeyReusedException;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptIdempotencyKeyRepository;
+import com.epam.digital.data.platform.excerpt.model.ExcerptEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class ExcerptIdempotencyServiceTest {
+
+  private static final UUID RECORD_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+  private static final String KEYCLOAK_ID = "keycloakId";
+  private static final String KEY = "key";
+  private static final String REQUEST_HASH = "hash";
+
+  private ExcerptIdempotencyService instance;
+
+  @Mock
+  private ExcerptIdempotencyKeyRepository idempotencyKeyRepository;
+
+  @BeforeEach
+  void beforeEach() {
+    instance = new ExcerptIdempotencyService(idempotencyKeyRepository, new ObjectMapper(),
+        new SimpleMeterRegistry(), 10, Duration.ofMinutes(10), Duration.ofHours(24));
+  }
+
+  @Test
+  void shouldLookUpStoredKeyOnlyOnce() {
+    when(idempotencyKeyRepository.findByKeycloakIdAndIdempotencyKey(KEYCLOAK_ID, KEY))
+        .thenReturn(Optional.of(storedKey(LocalDateTime.now())));
+
+    assertThat(instance.findRecordId(KEYCLOAK_ID, KEY, REQUEST_HASH)).contains(RECORD_ID);
+    assertThat(instance.findRecordId(KEYCLOAK_ID, KEY, REQUEST_HASH)).contains(RECORD_ID);
+
+    verify(idempotencyKeyRepository).findByKeycloakIdAndIdempotencyKey(KEYCLOAK_ID, KEY);
+  }
+
+  @Test
+  void shouldIgnoreExpiredKey() {
+    when(idempotencyKeyRepository.findByKeycloakIdAndIdempotencyKey(KEYCLOAK_ID, KEY))
+        .thenReturn(Optional.of(storedKey(LocalDateTime.now().minusDays(2))));
+
+    assertThat(instance.findRecordId(KEYCLOAK_ID, KEY, "other-hash")).isEmpty();
+  }
+
+  @Test
+  void shouldRejectKeyReusedForDifferentRequest() {
+    when(idempotencyKeyRepository.findByKeycloakIdAndIdempotencyKey(KEYCLOAK_ID, KEY))
+        .thenReturn(Optional.of(storedKey(LocalDateTime.now())));
+
+    assertThrows(IdempotencyKeyReusedException.class,
+        () -> instance.findRecordId(KEYCLOAK_ID, KEY, "other-hash"));
+  }
+
+  @Test
+  void shouldHashRequestRegardlessOfInputDataOrder() {
+    var inputData = new LinkedHashMap<String, Object>();
+    inputData.put("a", 1);
+    inputData.put("b", 2);
+    var reorderedInputData = new LinkedHashMap<String, Object>();
+    reorderedInputData.put("b", 2);
+    reorderedInputData.put("a", 1);
+
+    assertThat(instance.requestHash(new ExcerptEventDto(null, "type", inputData, false)))
+        .isEqualTo(instance.requestHash(
+            new ExcerptEventDto(null, "type", reorderedInputData, false)))
+        .isNotEqualTo(instance.requestHash(new ExcerptEventDto(null, "type", inputData, true)));
+  }
+
+  @Test
+  void shouldServeRememberedKeyWithoutDatabaseLookup() {
+    instance.remember(KEYCLOAK_ID, KEY, REQUEST_HASH, RECORD_ID);
+
+    assertThat(instance.findRecordId(KEYCLOAK_ID, KEY, REQUEST_HASH)).contains(RECORD_ID);
+    verify(idempotencyKeyRepository, never())
+        .findByKeycloakIdAndIdempotencyKey(any(), any());
+  }
+
+  @Test
+  void shouldStoreKeyReplacingOnlyExpiredOne() {
+    when(idempotencyKeyRepository.insertOrReplaceExpired(any(), eq(KEYCLOAK_ID), eq(KEY),
+        eq(REQUEST_HASH), eq(RECORD_ID), any(), any())).thenReturn(1);
+
+    instance.register(KEYCLOAK_ID, KEY, REQUEST_HASH, RECORD_ID);
+
+    var createdAt = ArgumentCaptor.forClass(LocalDateTime.class);
+    var threshold = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(idempotencyKeyRepository).insertOrReplaceExpired(any(), eq(KEYCLOAK_ID), eq(KEY),
+        eq(REQUEST_HASH), eq(RECORD_ID), createdAt.capture(), threshold.capture());
+    assertThat(threshold.getValue()).isEqualTo(createdAt.getValue().minusHours(24));
+  }
+
+  @Test
+  void shouldFailWhenKeyIsHeldByLiveRow() {
+    when(idempotencyKeyRepository.insertOrReplaceExpired(any(), eq(KEYCLOAK_ID), eq(KEY),
+        eq(REQUEST_HASH), eq(RECORD_ID), any(), any())).thenReturn(0);
+
+    assertThrows(DataIntegrityViolationException.class,
+        () -> instance.register(KEYCLOAK_ID, KEY, REQUEST_HASH, RECORD_ID));
+  }
+
+  private ExcerptIdempotencyKey storedKey(LocalDateTime createdAt) {
+    var key = new ExcerptIdempotencyKey();
+    key.setKeycloakId(KEYCLOAK_ID);
+    key.setIdempotencyKey(KEY);
+    key.setRequestHash(REQUEST_HASH);
+    key.setRecordId(RECORD_ID);
+    key.setCreatedAt(createdAt);
+    return key;
+  }
+}
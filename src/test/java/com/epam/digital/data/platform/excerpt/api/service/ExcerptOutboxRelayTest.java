@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.FAILED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.excerpt.api.entity.ExcerptOutboxEvent;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptOutboxRepository;
+import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ExcerptOutboxRelayTest {
+
+  private static final UUID RECORD_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+  private static final int MAX_ATTEMPTS = 3;
+
+  private ExcerptOutboxRelay instance;
+
+  @Mock
+  private ExcerptOutboxRepository outboxRepository;
+  @Mock
+  private RecordRepository recordRepository;
+  @Mock
+  private KafkaHelper kafkaHelper;
+  @Mock
+  private ExcerptStatusCache excerptStatusCache;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void beforeEach() {
+    when(kafkaHelper.getMaxSendDuration()).thenReturn(Duration.ofSeconds(70));
+    instance = new ExcerptOutboxRelay(outboxRepository, recordRepository, kafkaHelper,
+        excerptStatusCache, new TransactionTemplate(transactionManager), 10, MAX_ATTEMPTS,
+        Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofSeconds(30));
+  }
+
+  @Test
+  void shouldDoNothingWhenOutboxIsEmpty() {
+    when(outboxRepository.findNextBatchForUpdate(any(), eq(10))).thenReturn(List.of());
+
+    instance.relay();
+
+    verify(kafkaHelper, never()).send(any());
+  }
+
+  @Test
+  void shouldDeleteDeliveredEvents() {
+    var event = outboxEvent(0);
+    when(outboxRepository.findNextBatchForUpdate(any(), eq(10))).thenReturn(List.of(event));
+    when(kafkaHelper.send(List.of(event))).thenReturn(List.of(event));
+
+    instance.relay();
+
+    verify(outboxRepository).deleteAll(List.of(event));
+    verify(outboxRepository, never()).save(any());
+  }
+
+  @Test
+  void shouldLeaseBatchAndSendItOutsideOfTransaction() {
+    var event = outboxEvent(0);
+    when(outboxRepository.findNextBatchForUpdate(any(), eq(10))).thenReturn(List.of(event));
+    when(kafkaHelper.send(List.of(event))).thenReturn(List.of(event));
+
+    instance.relay();
+
+    var inOrder = inOrder(transactionManager, outboxRepository, kafkaHelper);
+    inOrder.verify(outboxRepository).saveAll(List.of(event));
+    inOrder.verify(transactionManager).commit(any());
+    inOrder.verify(kafkaHelper).send(List.of(event));
+    inOrder.verify(transactionManager).getTransaction(any());
+    inOrder.verify(outboxRepository).deleteAll(List.of(event));
+    inOrder.verify(transactionManager).commit(any());
+    assertThat(event.getLeasedUntil())
+        .isAfter(LocalDateTime.now().plusSeconds(90))
+        .isBefore(LocalDateTime.now().plusSeconds(101));
+  }
+
+  @Test
+  void shouldKeepUndeliveredEventForRetry() {
+    var event = outboxEvent(0);
+    when(outboxRepository.findNextBatchForUpdate(any(), eq(10))).thenReturn(List.of(event));
+    when(kafkaHelper.send(List.of(event))).thenReturn(List.of());
+
+    instance.relay();
+
+    verify(outboxRepository).save(event);
+    assertThat(event.getAttempts()).isEqualTo(1);
+    assertThat(event.getLeasedUntil())
+        .isAfter(LocalDateTime.now())
+        .isBefore(LocalDateTime.now().plusSeconds(2));
+    verifyNoInteractions(recordRepository);
+  }
+
+  @Test
+  void shouldDoubleRetryBackoffUpToMax() {
+    var secondAttempt = outboxEvent(1);
+    var thirdAttempt = outboxEvent(2);
+    var fourthAttempt = outboxEvent(3);
+    var batch = List.of(secondAttempt, thirdAttempt, fourthAttempt);
+    instance = new ExcerptOutboxRelay(outboxRepository, recordRepository, kafkaHelper,
+        excerptStatusCache, new TransactionTemplate(transactionManager), 10, 10,
+        Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(30));
+    when(outboxRepository.findNextBatchForUpdate(any(), eq(10))).thenReturn(batch);
+    when(kafkaHelper.send(batch)).thenReturn(List.of());
+
+    instance.relay();
+
+    var now = LocalDateTime.now();
+    assertThat(secondAttempt.getLeasedUntil()).isBetween(now.plusSeconds(15), now.plusSeconds(20));
+    assertThat(thirdAttempt.getLeasedUntil()).isBetween(now.plusSeconds(25), now.plusSeconds(30));
+    assertThat(fourthAttempt.getLeasedUntil()).isBetween(now.plusSeconds(25), now.plusSeconds(30));
+  }
+
+  @Test
+  void shouldMarkRecordFailedWhenAttemptsExhausted() {
+    var event = outboxEvent(MAX_ATTEMPTS - 1);
+    var excerptRecord = new ExcerptRecord();
+    when(outboxRepository.findNextBatchForUpdate(any(), eq(10))).thenReturn(List.of(event));
+    when(kafkaHelper.send(List.of(event))).thenReturn(List.of());
+    when(recordRepository.findById(RECORD_ID)).thenReturn(Optional.of(excerptRecord));
+
+    instance.relay();
+
+    verify(recordRepository).save(excerptRecord);
+    verify(outboxRepository).delete(event);
+    verify(excerptStatusCache).evict(RECORD_ID);
+    assertThat(excerptRecord.getStatus()).isEqualTo(FAILED);
+    assertThat(excerptRecord.getStatusDetails()).isEqualTo("Failed to send data for processing");
+  }
+
+  private ExcerptOutboxEvent outboxEvent(int attempts) {
+    var event = new ExcerptOutboxEvent();
+    event.setId(UUID.randomUUID());
+    event.setRecordId(RECORD_ID);
+    event.setTopic("generate-excerpt");
+    event.setPayload("{}");
+    event.setAttempts(attempts);
+    return event;
+  }
+}
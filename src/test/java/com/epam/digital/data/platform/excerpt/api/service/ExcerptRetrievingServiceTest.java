@@ -16,29 +16,40 @@
 
 package com.epam.digital.data.platform.excerpt.api.service;
 
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import com.epam.digital.data.platform.excerpt.api.exception.ExcerptNotFoundException;
 import com.epam.digital.data.platform.excerpt.api.exception.InvalidKeycloakIdException;
+import com.epam.digital.data.platform.excerpt.api.model.ExcerptFile;
 import com.epam.digital.data.platform.excerpt.api.model.SecurityContext;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
 import com.epam.digital.data.platform.excerpt.api.util.JwtHelper;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
-import com.epam.digital.data.platform.integration.ceph.model.CephObject;
-import com.epam.digital.data.platform.integration.ceph.model.CephObjectMetadata;
-import com.epam.digital.data.platform.integration.ceph.service.CephService;
-import java.util.HashMap;
+import com.epam.digital.data.platform.integration.ceph.exception.CephCommunicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,28 +66,39 @@ class ExcerptRetrievingServiceTest {
   @Mock
   private JwtHelper jwtHelper;
   @Mock
-  private CephService excerptCephService;
+  private AmazonS3 excerptS3Client;
+  @Mock
+  private AmazonS3 excerptPresignS3Client;
+  @Mock
+  private ExcerptFileCache excerptFileCache;
 
   @BeforeEach
   void beforeEach() {
     instance =
-        new ExcerptRetrievingService(recordRepository, jwtHelper, excerptCephService, BUCKET_NAME);
+        new ExcerptRetrievingService(recordRepository, jwtHelper, excerptS3Client,
+            excerptPresignS3Client, excerptFileCache, BUCKET_NAME, Duration.ofMinutes(5));
   }
 
   @Test
   void failWhenCephServiceFails() {
-    var record = new ExcerptRecord();
-    record.setKeycloakId("stubId");
-    record.setExcerptKey("ceph-key");
-
-    when(recordRepository.findById(any())).thenReturn(Optional.of(record));
-    when(excerptCephService.get(any(), any())).thenReturn(Optional.empty());
-    when(jwtHelper.getKeycloakId(any())).thenReturn("stubId");
+    setupRecordFound();
+    when(excerptS3Client.getObject(any(GetObjectRequest.class)))
+        .thenThrow(new AmazonS3Exception("Internal error"));
 
-    assertThrows(ExcerptNotFoundException.class,
+    assertThrows(CephCommunicationException.class,
             () -> instance.getExcerpt(ID, securityContext()));
   }
 
+  @Test
+  void failWhenCephIsUnreachable() {
+    setupRecordFound();
+    when(excerptS3Client.getObjectMetadata(BUCKET_NAME, "ceph-key"))
+        .thenThrow(new SdkClientException("Connection refused"));
+
+    assertThrows(CephCommunicationException.class,
+            () -> instance.getExcerptMetadata(ID, securityContext()));
+  }
+
   @Test
   void failWhenKeycloakIdDoesNotMatch() {
     var record = new ExcerptRecord();
@@ -108,20 +130,108 @@ class ExcerptRetrievingServiceTest {
 
   @Test
   void failWhenNotFoundInCeph() {
-    var record = new ExcerptRecord();
-    record.setKeycloakId("stubId");
-    record.setExcerptKey("ceph-key");
-
-    when(jwtHelper.getKeycloakId(any())).thenReturn("stubId");
-    when(recordRepository.findById(any())).thenReturn(Optional.of(record));
-    when(excerptCephService.get(any(), any())).thenReturn(Optional.empty());
+    setupRecordFound();
+    var notFound = new AmazonS3Exception("Not Found");
+    notFound.setStatusCode(404);
+    when(excerptS3Client.getObjectMetadata(BUCKET_NAME, "ceph-key")).thenThrow(notFound);
 
     assertThrows(ExcerptNotFoundException.class,
-            () -> instance.getExcerpt(ID, securityContext()));
+            () -> instance.getExcerptMetadata(ID, securityContext()));
   }
 
   @Test
   void returnResource() {
+    setupRecordFound();
+    var s3Object = new S3Object();
+    s3Object.setObjectContent(new ByteArrayInputStream("test".getBytes()));
+    s3Object.setObjectMetadata(metadata());
+    when(excerptS3Client.getObject(any(GetObjectRequest.class))).thenReturn(s3Object);
+    when(excerptFileCache.cacheWhileReading("ceph-key", 4, "\"etag\"",
+        s3Object.getObjectContent())).thenReturn(s3Object.getObjectContent());
+
+    var actualExcerptResponse = instance.getExcerpt(ID, securityContext());
+
+    assertThat(actualExcerptResponse.getContent()).isNotNull();
+    assertThat(actualExcerptResponse.getContentLength()).isEqualTo(4);
+    assertThat(actualExcerptResponse.getETag()).isEqualTo("\"etag\"");
+    assertThat(actualExcerptResponse.getExcerptType()).isEqualTo("type");
+  }
+
+  @Test
+  void returnCachedFileWithoutCallingCeph() {
+    setupRecordFound();
+    var cachedFile = excerptFileCache.new CachedFile(Path.of("cached"), 4, "\"etag\"");
+    when(excerptFileCache.acquire("ceph-key")).thenReturn(Optional.of(cachedFile));
+
+    var actualExcerptResponse = instance.getExcerpt(ID, securityContext());
+
+    assertThat(actualExcerptResponse.getFile()).isEqualTo(Path.of("cached"));
+    assertThat(actualExcerptResponse.getContent()).isNull();
+    assertThat(actualExcerptResponse.getETag()).isEqualTo("\"etag\"");
+    verifyNoInteractions(excerptS3Client);
+  }
+
+  @Test
+  void returnMetadataWithoutContent() {
+    setupRecordFound();
+    when(excerptS3Client.getObjectMetadata(BUCKET_NAME, "ceph-key")).thenReturn(metadata());
+
+    var actualExcerptResponse = instance.getExcerptMetadata(ID, securityContext());
+
+    assertThat(actualExcerptResponse.getContent()).isNull();
+    assertThat(actualExcerptResponse.getContentLength()).isEqualTo(4);
+    assertThat(actualExcerptResponse.getETag()).isEqualTo("\"etag\"");
+  }
+
+  @Test
+  void requestRangeFromCeph() {
+    var s3Object = new S3Object();
+    s3Object.setObjectContent(new ByteArrayInputStream("es".getBytes()));
+    when(excerptS3Client.getObject(any(GetObjectRequest.class))).thenReturn(s3Object);
+
+    instance.getExcerptContent(new ExcerptFile("ceph-key", "type", 4, "\"etag\"", null), 1, 2);
+
+    var captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+    verify(excerptS3Client).getObject(captor.capture());
+    assertThat(captor.getValue().getBucketName()).isEqualTo(BUCKET_NAME);
+    assertThat(captor.getValue().getKey()).isEqualTo("ceph-key");
+    assertThat(captor.getValue().getRange()).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void returnPresignedUrl() throws Exception {
+    setupRecordFound();
+    when(excerptS3Client.getObjectMetadata(BUCKET_NAME, "ceph-key")).thenReturn(metadata());
+    when(excerptPresignS3Client.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+        .thenReturn(new URL("http://ceph/bucket/ceph-key?X-Amz-Signature=signature"));
+
+    var excerptUrl = instance.getExcerptUrl(ID, securityContext());
+
+    var captor = ArgumentCaptor.forClass(GeneratePresignedUrlRequest.class);
+    verify(excerptPresignS3Client).generatePresignedUrl(captor.capture());
+    assertThat(captor.getValue().getBucketName()).isEqualTo(BUCKET_NAME);
+    assertThat(captor.getValue().getKey()).isEqualTo("ceph-key");
+    assertThat(captor.getValue().getResponseHeaders().getContentDisposition())
+        .isEqualTo("attachment; filename=\"" + ID + ".type\"");
+    assertThat(excerptUrl.getUrl())
+        .isEqualTo("http://ceph/bucket/ceph-key?X-Amz-Signature=signature");
+    assertThat(excerptUrl.getExpiresAt())
+        .isEqualTo(captor.getValue().getExpiration().toInstant());
+  }
+
+  @Test
+  void failToPresignUrlWhenNotFoundInCeph() {
+    setupRecordFound();
+    var notFound = new AmazonS3Exception("Not Found");
+    notFound.setStatusCode(404);
+    when(excerptS3Client.getObjectMetadata(BUCKET_NAME, "ceph-key")).thenThrow(notFound);
+
+    assertThrows(ExcerptNotFoundException.class,
+        () -> instance.getExcerptUrl(ID, securityContext()));
+    verifyNoInteractions(excerptPresignS3Client);
+  }
+
+  private void setupRecordFound() {
     var record = new ExcerptRecord();
     record.setKeycloakId("stubId");
     record.setExcerptKey("ceph-key");
@@ -129,17 +239,13 @@ class ExcerptRetrievingServiceTest {
 
     when(jwtHelper.getKeycloakId(any())).thenReturn("stubId");
     when(recordRepository.findById(any())).thenReturn(Optional.of(record));
-    var cephServiceResponse = CephObject.builder()
-            .content(new ByteArrayInputStream("test".getBytes()))
-            .metadata(CephObjectMetadata.builder().userMetadata(new HashMap<>()).build())
-            .build();
-    when(excerptCephService.get(any(), any())).thenReturn(
-            Optional.of(cephServiceResponse));
-
-    var actualExcerptResponse = instance.getExcerpt(ID, securityContext());
+  }
 
-    assertThat(actualExcerptResponse.getCephObject()).isEqualTo(cephServiceResponse);
-    assertThat(actualExcerptResponse.getExcerptType()).isEqualTo("type");
+  private ObjectMetadata metadata() {
+    var metadata = new ObjectMetadata();
+    metadata.setContentLength(4);
+    metadata.setHeader("ETag", "etag");
+    return metadata;
   }
 
   private SecurityContext securityContext() {
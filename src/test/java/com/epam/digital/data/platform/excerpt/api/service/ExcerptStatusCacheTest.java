@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.excerpt.model.StatusDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class ExcerptStatusCacheTest {
+
+  private static final UUID ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+  private static final String KEY = ExcerptStatusCache.REDIS_KEY_PREFIX + ID;
+  private static final Duration TERMINAL_TTL = Duration.ofHours(1);
+  private static final Duration IN_PROGRESS_TTL = Duration.ofSeconds(2);
+
+  private ExcerptStatusCache instance;
+  private SimpleMeterRegistry meterRegistry;
+
+  @Mock
+  private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+  @Mock
+  private StringRedisTemplate redisTemplate;
+  @Mock
+  private ValueOperations<String, String> valueOperations;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    when(redisTemplateProvider.getObject()).thenReturn(redisTemplate);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    instance = new ExcerptStatusCache(meterRegistry, new ObjectMapper(), redisTemplateProvider,
+        100, TERMINAL_TTL, IN_PROGRESS_TTL, true);
+  }
+
+  @Test
+  void shouldServeStatusFromRedisWithoutLoading() {
+    when(valueOperations.get(KEY)).thenReturn("{\"status\":\"COMPLETED\",\"statusDetails\":null}");
+
+    var status = instance.get(ID, id -> {
+      throw new AssertionError("Status should not be loaded");
+    });
+
+    assertThat(status.getStatus()).isEqualTo(COMPLETED);
+    assertThat(status.getStatusDetails()).isNull();
+    assertThat(meterRegistry.get("excerpt.status.cache.redis.requests").tag("result", "hit")
+        .counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldWriteLoadedStatusToRedisWithStatusTtl() {
+    instance.get(ID, id -> new StatusDto(IN_PROGRESS, null));
+
+    verify(valueOperations).set(KEY, "{\"status\":\"IN_PROGRESS\",\"statusDetails\":null}",
+        IN_PROGRESS_TTL);
+  }
+
+  @Test
+  void shouldLoadStatusOnceWhenRedisIsUnavailable() {
+    when(valueOperations.get(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+    var loads = new int[1];
+
+    instance.get(ID, id -> {
+      loads[0]++;
+      return new StatusDto(COMPLETED, "done");
+    });
+    var status = instance.get(ID, id -> {
+      loads[0]++;
+      return new StatusDto(COMPLETED, "done");
+    });
+
+    assertThat(status.getStatusDetails()).isEqualTo("done");
+    assertThat(loads[0]).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictStatusFromBothTiers() {
+    instance.put(ID, new StatusDto(COMPLETED, null));
+
+    instance.evict(ID);
+
+    verify(redisTemplate).delete(KEY);
+    assertThat(instance.getAllPresent(List.of(ID))).isEmpty();
+  }
+}
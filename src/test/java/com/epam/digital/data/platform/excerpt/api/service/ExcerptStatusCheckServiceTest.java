@@ -17,23 +17,41 @@
 package com.epam.digital.data.platform.excerpt.api.service;
 
 import com.epam.digital.data.platform.excerpt.api.exception.ExcerptNotFoundException;
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptStatusView;
 import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
-import com.epam.digital.data.platform.excerpt.dao.ExcerptRecord;
 import com.epam.digital.data.platform.excerpt.dao.ExcerptTemplate;
 import com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus;
+import com.epam.digital.data.platform.excerpt.model.StatusDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
 
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
 import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.FAILED;
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,10 +63,18 @@ class ExcerptStatusCheckServiceTest {
 
   @Mock
   private RecordRepository recordRepository;
+  @Mock
+  private ExcerptStatusWatcher excerptStatusWatcher;
+  @Mock
+  private TaskScheduler taskScheduler;
 
   @BeforeEach
   void beforeEach() {
-    instance = new ExcerptStatusCheckService(recordRepository);
+    var excerptStatusCache = new ExcerptStatusCache(new SimpleMeterRegistry(), new ObjectMapper(),
+        null, 100, Duration.ofHours(1), Duration.ofSeconds(2), false);
+    instance = new ExcerptStatusCheckService(recordRepository, excerptStatusWatcher,
+        excerptStatusCache, taskScheduler, Duration.ofSeconds(30), Duration.ofMinutes(30),
+        Duration.ofSeconds(15));
   }
 
   @Test
@@ -68,10 +94,139 @@ class ExcerptStatusCheckServiceTest {
     assertThat(status.getStatusDetails()).isEqualTo(expectedDetails);
   }
 
+  @Test
+  void returnFinishedStatusFromCache() {
+    setupStatusFound(COMPLETED, null);
+
+    instance.getStatus(ID);
+    var status = instance.getStatus(ID);
+
+    assertThat(status.getStatus()).isEqualTo(COMPLETED);
+    verify(recordRepository).findStatusById(ID);
+  }
+
+  @Test
+  void queryOnlyStatusesMissingFromCache() {
+    var otherId = UUID.randomUUID();
+    setupStatusFound(COMPLETED, null);
+    instance.getStatus(ID);
+    when(recordRepository.findStatusesByIdIn(Set.of(otherId)))
+        .thenReturn(List.of(view(otherId, FAILED, null)));
+
+    var result = instance.getStatuses(List.of(ID, otherId));
+
+    assertThat(result.getStatuses()).containsOnlyKeys(ID, otherId);
+    assertThat(result.getNotFound()).isEmpty();
+  }
+
+  @Test
+  void returnStatusesKeyedByIdAndReportMissingIds() {
+    var missingId = UUID.randomUUID();
+    when(recordRepository.findStatusesByIdIn(Set.of(ID, missingId)))
+        .thenReturn(List.of(view(ID, COMPLETED, null)));
+
+    var result = instance.getStatuses(List.of(missingId, ID, missingId));
+
+    assertThat(result.getStatuses()).containsOnlyKeys(ID);
+    assertThat(result.getStatuses().get(ID).getStatus()).isEqualTo(COMPLETED);
+    assertThat(result.getNotFound()).containsExactly(missingId);
+  }
+
+  @Test
+  void returnFinishedStatusWithoutWaiting() {
+    setupStatusFound(FAILED, "some details");
+
+    var result = instance.awaitStatus(ID, Duration.ofSeconds(20));
+
+    assertThat(((StatusDto) result.getResult()).getStatus()).isEqualTo(FAILED);
+    verifyNoInteractions(excerptStatusWatcher);
+  }
+
+  @Test
+  void waitForStatusChange() {
+    setupStatusFound(IN_PROGRESS, null);
+    var unwatch = mock(Runnable.class);
+    when(excerptStatusWatcher.watch(eq(ID), any())).thenReturn(unwatch);
+
+    var result = instance.awaitStatus(ID, Duration.ofSeconds(20));
+
+    assertThat(result.hasResult()).isFalse();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Consumer<StatusDto>> listenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(excerptStatusWatcher).watch(eq(ID), listenerCaptor.capture());
+    listenerCaptor.getValue().accept(new StatusDto(COMPLETED, null));
+    assertThat(((StatusDto) result.getResult()).getStatus()).isEqualTo(COMPLETED);
+  }
+
+  @Test
+  void failStreamWhenAnyRecordNotFound() {
+    var missingId = UUID.randomUUID();
+    when(recordRepository.findStatusesByIdIn(List.of(ID, missingId)))
+        .thenReturn(List.of(view(ID, IN_PROGRESS, null)));
+
+    assertThrows(ExcerptNotFoundException.class,
+        () -> instance.streamStatus(List.of(ID, missingId)));
+    verifyNoInteractions(excerptStatusWatcher);
+  }
+
+  @Test
+  void watchOnlyExcerptsInProgress() {
+    var completedId = UUID.randomUUID();
+    when(recordRepository.findStatusesByIdIn(List.of(ID, completedId)))
+        .thenReturn(List.of(view(ID, IN_PROGRESS, null), view(completedId, COMPLETED, null)));
+    when(excerptStatusWatcher.watch(eq(ID), any())).thenReturn(mock(Runnable.class));
+    doReturn(mock(ScheduledFuture.class)).when(taskScheduler)
+        .scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofSeconds(15)));
+
+    assertThat(instance.streamStatus(List.of(ID, completedId))).isNotNull();
+
+    verify(excerptStatusWatcher).watch(eq(ID), any());
+    verify(excerptStatusWatcher, never()).watch(eq(completedId), any());
+  }
+
+  @Test
+  void sendHeartbeatsWhileExcerptsInProgress() {
+    when(recordRepository.findStatusesByIdIn(List.of(ID)))
+        .thenReturn(List.of(view(ID, IN_PROGRESS, null)));
+    when(excerptStatusWatcher.watch(eq(ID), any())).thenReturn(mock(Runnable.class));
+    doReturn(mock(ScheduledFuture.class)).when(taskScheduler)
+        .scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofSeconds(15)));
+
+    instance.streamStatus(List.of(ID));
+
+    verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofSeconds(15)));
+  }
+
+  @Test
+  void notWatchWhenAllExcerptsFinished() {
+    when(recordRepository.findStatusesByIdIn(List.of(ID)))
+        .thenReturn(List.of(view(ID, FAILED, null)));
+
+    instance.streamStatus(List.of(ID));
+
+    verifyNoInteractions(excerptStatusWatcher, taskScheduler);
+  }
+
+  private ExcerptStatusView view(UUID id, ExcerptProcessingStatus status, String details) {
+    return new ExcerptStatusView() {
+      @Override
+      public UUID getId() {
+        return id;
+      }
+
+      @Override
+      public ExcerptProcessingStatus getStatus() {
+        return status;
+      }
+
+      @Override
+      public String getStatusDetails() {
+        return details;
+      }
+    };
+  }
+
   private void setupStatusFound(ExcerptProcessingStatus status, String details) {
-    var record = new ExcerptRecord();
-    record.setStatus(status);
-    record.setStatusDetails(details);
-    when(recordRepository.findById(any())).thenReturn(Optional.of(record));
+    when(recordRepository.findStatusById(any())).thenReturn(Optional.of(view(ID, status, details)));
   }
 }
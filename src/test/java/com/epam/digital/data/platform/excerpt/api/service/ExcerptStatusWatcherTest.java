@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.COMPLETED;
+import static com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus.IN_PROGRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.excerpt.api.repository.ExcerptStatusView;
+import com.epam.digital.data.platform.excerpt.api.repository.RecordRepository;
+import com.epam.digital.data.platform.excerpt.model.ExcerptProcessingStatus;
+import com.epam.digital.data.platform.excerpt.model.StatusDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExcerptStatusWatcherTest {
+
+  private static final UUID ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+  private ExcerptStatusWatcher instance;
+
+  @Mock
+  private RecordRepository recordRepository;
+  @Mock
+  private ExcerptStatusCache excerptStatusCache;
+
+  @BeforeEach
+  void beforeEach() {
+    instance = new ExcerptStatusWatcher(recordRepository, excerptStatusCache,
+        new SimpleMeterRegistry(), 100);
+  }
+
+  @Test
+  void shouldNotQueryDatabaseWithoutWatchers() {
+    instance.poll();
+
+    verify(recordRepository, never()).findStatusesByIdIn(any());
+  }
+
+  @Test
+  void shouldNotifyAllWatchersOnceWithOneQuery() {
+    var received = new ArrayList<StatusDto>();
+    instance.watch(ID, received::add);
+    instance.watch(ID, received::add);
+    when(recordRepository.findStatusesByIdIn(List.of(ID))).thenReturn(List.of(view(COMPLETED)));
+
+    instance.poll();
+    instance.poll();
+
+    assertThat(received).hasSize(2)
+        .allSatisfy(status -> assertThat(status.getStatus()).isEqualTo(COMPLETED));
+    verify(recordRepository).findStatusesByIdIn(any());
+    verify(excerptStatusCache).put(eq(ID), any());
+  }
+
+  @Test
+  void shouldKeepWatchingExcerptInProgress() {
+    var received = new ArrayList<StatusDto>();
+    instance.watch(ID, received::add);
+    when(recordRepository.findStatusesByIdIn(List.of(ID))).thenReturn(List.of(view(IN_PROGRESS)));
+
+    instance.poll();
+
+    assertThat(received).isEmpty();
+    when(recordRepository.findStatusesByIdIn(List.of(ID))).thenReturn(List.of(view(COMPLETED)));
+    instance.poll();
+    assertThat(received).hasSize(1);
+  }
+
+  @Test
+  void shouldStopQueryingAfterUnwatch() {
+    var unwatch = instance.watch(ID, status -> {
+    });
+
+    unwatch.run();
+    instance.poll();
+
+    verify(recordRepository, never()).findStatusesByIdIn(any());
+  }
+
+  private ExcerptStatusView view(ExcerptProcessingStatus status) {
+    return new ExcerptStatusView() {
+      @Override
+      public UUID getId() {
+        return ID;
+      }
+
+      @Override
+      public ExcerptProcessingStatus getStatus() {
+        return status;
+      }
+
+      @Override
+      public String getStatusDetails() {
+        return null;
+      }
+    };
+  }
+}
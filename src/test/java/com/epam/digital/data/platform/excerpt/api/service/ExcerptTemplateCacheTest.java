@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.excerpt.api.repository.TemplateRepository;
+import com.epam.digital.data.platform.excerpt.dao.ExcerptTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExcerptTemplateCacheTest {
+
+  private static final String TEMPLATE_NAME = "template";
+
+  private ExcerptTemplateCache instance;
+  private SimpleMeterRegistry meterRegistry;
+
+  @Mock
+  private TemplateRepository templateRepository;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new ExcerptTemplateCache(templateRepository, meterRegistry, 10,
+        Duration.ofMinutes(5), Duration.ofMinutes(1));
+  }
+
+  @Test
+  void shouldLoadTemplateOnlyOnce() {
+    var template = template();
+    when(templateRepository.findFirstByTemplateName(TEMPLATE_NAME))
+        .thenReturn(Optional.of(template));
+
+    assertThat(instance.findByName(TEMPLATE_NAME)).contains(template);
+    assertThat(instance.findByName(TEMPLATE_NAME)).contains(template);
+
+    verify(templateRepository).findFirstByTemplateName(TEMPLATE_NAME);
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldCacheMissingTemplate() {
+    when(templateRepository.findFirstByTemplateName(TEMPLATE_NAME)).thenReturn(Optional.empty());
+
+    assertThat(instance.findByName(TEMPLATE_NAME)).isEmpty();
+    assertThat(instance.findByName(TEMPLATE_NAME)).isEmpty();
+
+    verify(templateRepository).findFirstByTemplateName(TEMPLATE_NAME);
+  }
+
+  @Test
+  void shouldReloadTemplateAfterEviction() {
+    when(templateRepository.findFirstByTemplateName(TEMPLATE_NAME)).thenReturn(Optional.empty());
+
+    instance.findByName(TEMPLATE_NAME);
+    instance.evict(TEMPLATE_NAME);
+    instance.findByName(TEMPLATE_NAME);
+
+    verify(templateRepository, times(2)).findFirstByTemplateName(TEMPLATE_NAME);
+  }
+
+  @Test
+  void shouldServeWarmedUpTemplatesWithoutDatabaseLookup() {
+    var template = template();
+    when(templateRepository.findAll()).thenReturn(List.of(template));
+
+    instance.warmUp();
+
+    assertThat(instance.findByName(TEMPLATE_NAME)).contains(template);
+    verify(templateRepository, never()).findFirstByTemplateName(any());
+  }
+
+  private ExcerptTemplate template() {
+    var template = new ExcerptTemplate();
+    template.setTemplateName(TEMPLATE_NAME);
+    template.setTemplateType("pdf");
+    return template;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 EPAM Systems.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.digital.data.platform.excerpt.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.epam.digital.data.platform.starter.security.dto.JwtClaimsDto;
+import com.epam.digital.data.platform.starter.security.jwt.TokenParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+class JwtHelperTest {
+
+  private static final String ACCESS_TOKEN = "token";
+  private static final String OTHER_ACCESS_TOKEN = "other-token";
+
+  private JwtHelper instance;
+  private SimpleMeterRegistry meterRegistry;
+
+  @Mock
+  private TokenParser tokenParser;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    instance = new JwtHelper(tokenParser, meterRegistry, 10, Duration.ofMinutes(5));
+  }
+
+  @AfterEach
+  void afterEach() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void shouldParseTokenOnlyOnceAcrossRequests() {
+    var claims = claims("subject");
+    when(tokenParser.parseClaims(ACCESS_TOKEN)).thenReturn(claims);
+
+    assertThat(instance.getKeycloakId(ACCESS_TOKEN)).isEqualTo("subject");
+    assertThat(instance.getClaims(ACCESS_TOKEN)).isSameAs(claims);
+
+    verify(tokenParser).parseClaims(ACCESS_TOKEN);
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldShareClaimsWithinRequest() {
+    var claims = claims("subject");
+    when(tokenParser.parseClaims(ACCESS_TOKEN)).thenReturn(claims);
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+
+    instance.getClaims(ACCESS_TOKEN);
+
+    assertThat(RequestContextHolder.currentRequestAttributes()
+        .getAttribute(JwtHelper.CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)).isNotNull();
+    assertThat(instance.getClaims(ACCESS_TOKEN)).isSameAs(claims);
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isZero();
+  }
+
+  @Test
+  void shouldParseDifferentTokensSeparately() {
+    when(tokenParser.parseClaims(ACCESS_TOKEN)).thenReturn(claims("subject"));
+    when(tokenParser.parseClaims(OTHER_ACCESS_TOKEN)).thenReturn(claims("other"));
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+
+    assertThat(instance.getKeycloakId(ACCESS_TOKEN)).isEqualTo("subject");
+    assertThat(instance.getKeycloakId(OTHER_ACCESS_TOKEN)).isEqualTo("other");
+    assertThat(instance.getKeycloakId(ACCESS_TOKEN)).isEqualTo("subject");
+
+    verify(tokenParser, times(1)).parseClaims(ACCESS_TOKEN);
+    verify(tokenParser, times(1)).parseClaims(OTHER_ACCESS_TOKEN);
+  }
+
+  private JwtClaimsDto claims(String subject) {
+    var claims = new JwtClaimsDto();
+    claims.setSubject(subject);
+    return claims;
+  }
+}